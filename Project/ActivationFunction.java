@@ -8,4 +8,47 @@ public interface ActivationFunction {
      * 활성화 함수 도함수
      */
     double derivative(double activatedValue);
+
+    /**
+     * 원소 단위 함수인지 (기본 true)
+     * false 면 한 출력이 같은 행 전체에 의존하므로(소프트맥스 등) 스칼라 activate/derivative 를 쓸 수 없고
+     * 배열/행 단위 메서드만 의미가 있음. 네트워크는 이런 활성화를 출력층에만 허용
+     */
+    default boolean isElementWise() {
+        return true;
+    }
+
+    /**
+     * 배열 단위 활성화: out[k] = f(in[k]) (in 과 out 이 같은 배열이어도 됨)
+     * 뉴런마다 가상 호출하지 않도록 구현체에서 재정의하는 것을 권장
+     */
+    default void activate(double[] in, double[] out, int len) {
+        for (int k = 0; k < len; k++) {
+            out[k] = activate(in[k]);
+        }
+    }
+
+    /**
+     * 배열 단위 도함수 곱: grad[k] *= f'(activated[k])
+     */
+    default void derivativeInPlace(double[] activated, double[] grad, int len) {
+        for (int k = 0; k < len; k++) {
+            grad[k] *= derivative(activated[k]);
+        }
+    }
+
+    /**
+     * 행 단위 배열 활성화: 길이 width 인 출력 벡터 rows 개 (미니배치)
+     * 원소 단위 함수는 기본 구현을 그대로 쓰고, 소프트맥스처럼 행 전체에 의존하면 재정의
+     */
+    default void activate(double[] in, double[] out, int rows, int width) {
+        activate(in, out, rows * width);
+    }
+
+    /**
+     * 행 단위 도함수 곱 (미니배치)
+     */
+    default void derivativeInPlace(double[] activated, double[] grad, int rows, int width) {
+        derivativeInPlace(activated, grad, rows * width);
+    }
 }
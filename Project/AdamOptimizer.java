@@ -0,0 +1,65 @@
+/**
+ * Adam
+ * m = beta1 * m + (1 - beta1) * g, v = beta2 * v + (1 - beta2) * g^2
+ * w -= lr * m_hat / (sqrt(v_hat) + epsilon)  (m_hat, v_hat 은 step 으로 편향 보정)
+ */
+public class AdamOptimizer implements Optimizer {
+
+    private final double beta1;
+    private final double beta2;
+    private final double epsilon;
+
+    public AdamOptimizer() {
+        this(0.9, 0.999, 1e-8);
+    }
+
+    public AdamOptimizer(double beta1, double beta2, double epsilon) {
+        if (beta1 < 0.0 || beta1 >= 1.0 || beta2 < 0.0 || beta2 >= 1.0) {
+            throw new IllegalArgumentException("beta 는 0 이상 1 미만이어야 합니다. beta1=" + beta1
+                    + ", beta2=" + beta2);
+        }
+        this.beta1 = beta1;
+        this.beta2 = beta2;
+        this.epsilon = epsilon;
+    }
+
+    @Override
+    public int stateSlots() {
+        return 2;
+    }
+
+    @Override
+    public void update(double[] params, int offset, double[] grads, int gradOffset, int length,
+                       double learningRate, double gradScale, double[][] state, long step) {
+        double[] m = state[0];
+        double[] v = state[1];
+
+        // 편향 보정은 버퍼 전체에 같으므로 학습률에 한 번만 반영
+        double correction1 = 1.0 - Math.pow(beta1, step);
+        double correction2 = 1.0 - Math.pow(beta2, step);
+        double stepSize = learningRate * Math.sqrt(correction2) / correction1;
+        double eps = epsilon * Math.sqrt(correction2);
+
+        for (int k = 0; k < length; k++) {
+            int idx = offset + k;
+            double g = gradScale * grads[gradOffset + k];
+            double mk = beta1 * m[idx] + (1.0 - beta1) * g;
+            double vk = beta2 * v[idx] + (1.0 - beta2) * g * g;
+            m[idx] = mk;
+            v[idx] = vk;
+            params[idx] -= stepSize * mk / (Math.sqrt(vk) + eps);
+        }
+    }
+
+    public double getBeta1() {
+        return beta1;
+    }
+
+    public double getBeta2() {
+        return beta2;
+    }
+
+    public double getEpsilon() {
+        return epsilon;
+    }
+}
@@ -0,0 +1,22 @@
+/**
+ * 일정 에폭마다 평균 손실을 콘솔에 출력
+ */
+public class ConsoleTrainingListener implements TrainingListener {
+
+    private final int interval;
+
+    public ConsoleTrainingListener(int interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("출력 간격은 1 이상이어야 합니다. interval=" + interval);
+        }
+        this.interval = interval;
+    }
+
+    @Override
+    public void onEpochEnd(EpochStats stats) {
+        int epoch = stats.getEpoch();
+        if (epoch == 1 || epoch % interval == 0 || stats.isLastEpoch()) {
+            System.out.printf("Epoch %d, 평균 손실: %.6f%n", epoch, stats.getAverageLoss());
+        }
+    }
+}
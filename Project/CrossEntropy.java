@@ -0,0 +1,63 @@
+/**
+ * 교차 엔트로피 손실: -sum t * log(y)
+ * 타깃은 합이 1 인 확률 분포(원-핫 등)여야 함
+ * SoftmaxActivation 출력층과 합쳐지면 net 입력 기울기가 y - t 가 되어 활성화 미분 패스가 없어짐
+ */
+public class CrossEntropy implements FusedLoss {
+
+    @Override
+    public double loss(double[] target, double[] output) {
+        if (target.length != output.length) {
+            throw new IllegalArgumentException("타깃과 출력의 길이가 다릅니다.");
+        }
+        double sum = 0.0;
+        for (int i = 0; i < target.length; i++) {
+            if (target[i] != 0.0) {
+                // 언더플로로 0 이 된 확률도 유한한 손실이 되도록 하한을 둠
+                sum -= target[i] * Math.log(Math.max(output[i], Double.MIN_NORMAL));
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public double[] derivative(double[] target, double[] output) {
+        if (target.length != output.length) {
+            throw new IllegalArgumentException("타깃과 출력의 길이가 다릅니다.");
+        }
+        double[] grad = new double[target.length];
+        derivative(target, output, grad);
+        return grad;
+    }
+
+    /**
+     * 출력에 대한 기울기 -t / y (소프트맥스가 아닌 출력층용)
+     */
+    @Override
+    public void derivative(double[] target, double[] output, double[] grad) {
+        if (target.length != output.length || grad.length != output.length) {
+            throw new IllegalArgumentException("타깃과 출력의 길이가 다릅니다.");
+        }
+        for (int i = 0; i < target.length; i++) {
+            grad[i] = -target[i] / Math.max(output[i], Double.MIN_NORMAL);
+        }
+    }
+
+    @Override
+    public boolean fusesWith(ActivationFunction outputActivation) {
+        return outputActivation instanceof SoftmaxActivation;
+    }
+
+    /**
+     * 소프트맥스 net 입력에 대한 기울기 y - t
+     */
+    @Override
+    public void fusedDerivative(double[] target, double[] output, double[] gradNet) {
+        if (target.length != output.length || gradNet.length != output.length) {
+            throw new IllegalArgumentException("타깃과 출력의 길이가 다릅니다.");
+        }
+        for (int i = 0; i < target.length; i++) {
+            gradNet[i] = output[i] - target[i];
+        }
+    }
+}
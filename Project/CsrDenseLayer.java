@@ -0,0 +1,116 @@
+/**
+ * 가지친 DenseLayer 의 추론 전용 CSR 표현
+ * 출력 뉴런 o 의 0 이 아닌 가중치는 columns/values 의 [rowPointers[o], rowPointers[o + 1]) 구간
+ * 비용과 메모리가 남은 가중치 수에 비례 (가중치 하나당 double 값 + int 열 인덱스)
+ */
+public class CsrDenseLayer {
+
+    private final int inputSize;
+    private final int outputSize;
+
+    private final int[] rowPointers;
+    private final int[] columns;
+    private final double[] values;
+    private final double[] biases;
+
+    private final ActivationFunction activation;
+
+    private CsrDenseLayer(int inputSize, int outputSize, int[] rowPointers, int[] columns, double[] values,
+                          double[] biases, ActivationFunction activation) {
+        this.inputSize = inputSize;
+        this.outputSize = outputSize;
+        this.rowPointers = rowPointers;
+        this.columns = columns;
+        this.values = values;
+        this.biases = biases;
+        this.activation = activation;
+    }
+
+    /**
+     * 0 이 아닌 가중치만 모아 변환 (가지치기 후 호출)
+     */
+    public static CsrDenseLayer from(DenseLayer layer) {
+        int inputSize = layer.getInputSize();
+        int outputSize = layer.getOutputSize();
+        double[] weights = layer.weightArray();
+
+        int[] rowPointers = new int[outputSize + 1];
+        for (int o = 0; o < outputSize; o++) {
+            int count = 0;
+            for (int i = 0; i < inputSize; i++) {
+                if (weights[o * inputSize + i] != 0.0) {
+                    count++;
+                }
+            }
+            rowPointers[o + 1] = rowPointers[o] + count;
+        }
+
+        int[] columns = new int[rowPointers[outputSize]];
+        double[] values = new double[rowPointers[outputSize]];
+        int k = 0;
+        for (int o = 0; o < outputSize; o++) {
+            for (int i = 0; i < inputSize; i++) {
+                double w = weights[o * inputSize + i];
+                if (w != 0.0) {
+                    columns[k] = i;
+                    values[k] = w;
+                    k++;
+                }
+            }
+        }
+        return new CsrDenseLayer(inputSize, outputSize, rowPointers, columns, values,
+                layer.biasArray().clone(), layer.getActivation());
+    }
+
+    /**
+     * 추론
+     * 가중치만 읽으므로 여러 스레드에서 동시에 호출할 수 있음
+     */
+    public void infer(double[] input, double[] out) {
+        if (input.length != inputSize) {
+            throw new IllegalArgumentException("입력 크기가 잘못되었습니다. expected="
+                    + inputSize + ", actual=" + input.length);
+        }
+        if (out.length < outputSize) {
+            throw new IllegalArgumentException("출력 크기가 잘못되었습니다. expected="
+                    + outputSize + ", actual=" + out.length);
+        }
+
+        for (int o = 0; o < outputSize; o++) {
+            double sum = biases[o];
+            for (int k = rowPointers[o]; k < rowPointers[o + 1]; k++) {
+                sum += values[k] * input[columns[k]];
+            }
+            out[o] = sum;
+        }
+        activation.activate(out, out, outputSize);
+    }
+
+    /**
+     * 남은 가중치 수
+     */
+    public int getNonZeros() {
+        return rowPointers[outputSize];
+    }
+
+    /**
+     * 가중치(값 + 열 인덱스), 행 포인터, 바이어스가 차지하는 바이트 수
+     */
+    public long parameterBytes() {
+        return (long) getNonZeros() * (Double.BYTES + Integer.BYTES)
+                + (long) rowPointers.length * Integer.BYTES
+                + (long) biases.length * Double.BYTES;
+    }
+
+    public ActivationFunction getActivation() {
+        return activation;
+    }
+
+    public int getInputSize() {
+        return inputSize;
+    }
+
+    public int getOutputSize() {
+        return outputSize;
+    }
+}
@@ -0,0 +1,107 @@
+import java.util.Arrays;
+
+/**
+ * CSR(Compressed Sparse Row) 형식의 희소 배치 입력
+ * 행 r 의 값은 columnIndices/values 의 [rowPointers[r], rowPointers[r + 1]) 구간
+ * 각 행의 열 인덱스는 오름차순이고 중복이 없어야 함. 배열은 복사하지 않고 그대로 참조
+ */
+public class CsrMatrix {
+
+    private final int rows;
+    private final int columns;
+    private final int[] rowPointers;
+    private final int[] columnIndices;
+    private final double[] values;
+
+    public CsrMatrix(int rows, int columns, int[] rowPointers, int[] columnIndices, double[] values) {
+        if (rowPointers.length != rows + 1 || rowPointers[0] != 0) {
+            throw new IllegalArgumentException("rowPointers 크기가 잘못되었습니다. expected="
+                    + (rows + 1) + ", actual=" + rowPointers.length);
+        }
+        int nonZeros = rowPointers[rows];
+        if (columnIndices.length < nonZeros || values.length < nonZeros) {
+            throw new IllegalArgumentException("columnIndices/values 크기가 잘못되었습니다. nonZeros=" + nonZeros);
+        }
+        for (int r = 0; r < rows; r++) {
+            if (rowPointers[r + 1] < rowPointers[r]) {
+                throw new IllegalArgumentException("rowPointers 가 감소합니다. row=" + r);
+            }
+            SparseVector.checkIndices(columns, columnIndices, rowPointers[r], rowPointers[r + 1]);
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.rowPointers = rowPointers;
+        this.columnIndices = columnIndices;
+        this.values = values;
+    }
+
+    /**
+     * 밀집 행렬에서 0 이 아닌 값만 골라 생성
+     */
+    public static CsrMatrix fromDense(double[][] dense) {
+        int columns = dense.length == 0 ? 0 : dense[0].length;
+        int[] rowPointers = new int[dense.length + 1];
+        for (int r = 0; r < dense.length; r++) {
+            if (dense[r].length != columns) {
+                throw new IllegalArgumentException("행 크기가 다릅니다. row=" + r);
+            }
+            int count = 0;
+            for (double v : dense[r]) {
+                if (v != 0.0) {
+                    count++;
+                }
+            }
+            rowPointers[r + 1] = rowPointers[r] + count;
+        }
+
+        int[] columnIndices = new int[rowPointers[dense.length]];
+        double[] values = new double[rowPointers[dense.length]];
+        int k = 0;
+        for (double[] row : dense) {
+            for (int c = 0; c < columns; c++) {
+                if (row[c] != 0.0) {
+                    columnIndices[k] = c;
+                    values[k] = row[c];
+                    k++;
+                }
+            }
+        }
+        return new CsrMatrix(dense.length, columns, rowPointers, columnIndices, values);
+    }
+
+    /**
+     * 행 하나를 희소 벡터로 (새 배열에 복사)
+     */
+    public SparseVector row(int r) {
+        int from = rowPointers[r];
+        int to = rowPointers[r + 1];
+        int[] indices = Arrays.copyOfRange(columnIndices, from, to);
+        double[] rowValues = Arrays.copyOfRange(values, from, to);
+        return new SparseVector(columns, indices, rowValues);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getNonZeros() {
+        return rowPointers[rows];
+    }
+
+    // 레이어 내부 루프용 (복사하지 않음)
+    int[] rowPointerArray() {
+        return rowPointers;
+    }
+
+    int[] columnIndexArray() {
+        return columnIndices;
+    }
+
+    double[] valueArray() {
+        return values;
+    }
+}
@@ -0,0 +1,112 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * CSV 스트리밍 데이터셋
+ * 한 줄이 샘플 하나이며, 앞의 inputSize 개 열은 입력, 이어지는 targetSize 개 열은 타깃
+ * 파일을 한 줄씩 읽으므로 메모리 사용량은 파일 크기와 무관함
+ */
+public class CsvSampleSource implements SampleSource {
+
+    private final Path path;
+    private final int inputSize;
+    private final int targetSize;
+    private final boolean hasHeader;
+
+    private BufferedReader reader;
+    private long lineNumber;
+
+    public CsvSampleSource(Path path, int inputSize, int targetSize, boolean hasHeader) {
+        this.path = path;
+        this.inputSize = inputSize;
+        this.targetSize = targetSize;
+        this.hasHeader = hasHeader;
+    }
+
+    @Override
+    public int inputSize() {
+        return inputSize;
+    }
+
+    @Override
+    public int targetSize() {
+        return targetSize;
+    }
+
+    @Override
+    public void reset() throws IOException {
+        close();
+        reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+        lineNumber = 0;
+        if (hasHeader) {
+            reader.readLine();
+            lineNumber++;
+        }
+    }
+
+    @Override
+    public boolean next(double[] input, double[] target) throws IOException {
+        if (reader == null) {
+            reset();
+        }
+
+        String line;
+        do {
+            line = reader.readLine();
+            lineNumber++;
+            if (line == null) {
+                return false;
+            }
+        } while (line.isEmpty());
+
+        // split 없이 쉼표 위치만 찾아 열을 파싱
+        int column = 0;
+        int start = 0;
+        int length = line.length();
+        while (start <= length && column < inputSize + targetSize) {
+            int end = line.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+            double value;
+            try {
+                value = Double.parseDouble(line.substring(start, end).trim());
+            } catch (NumberFormatException e) {
+                throw new IOException("CSV 값이 숫자가 아닙니다. line=" + lineNumber + ", column=" + (column + 1), e);
+            }
+            if (column < inputSize) {
+                input[column] = value;
+            } else {
+                target[column - inputSize] = value;
+            }
+            column++;
+            start = end + 1;
+        }
+
+        // 열이 모자라거나 남으면 (남는 열을 잘라 내지 않고) 거부
+        if (column != inputSize + targetSize || start <= length) {
+            throw new IOException("CSV 열 수가 잘못되었습니다. line=" + lineNumber
+                    + ", expected=" + (inputSize + targetSize) + ", actual=" + countColumns(line));
+        }
+        return true;
+    }
+
+    private static int countColumns(String line) {
+        int columns = 1;
+        for (int k = line.indexOf(','); k >= 0; k = line.indexOf(',', k + 1)) {
+            columns++;
+        }
+        return columns;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (reader != null) {
+            reader.close();
+            reader = null;
+        }
+    }
+}
@@ -0,0 +1,475 @@
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 백그라운드 데이터 로더
+ * 전용 스레드가 샘플을 읽고(셔플, 전처리 포함) 미니배치로 모아 두면 학습 스레드는 꺼내 쓰기만 함
+ *
+ * 배치 버퍼는 prefetch 개를 미리 만들어 두고 free/ready 두 개의 고정 크기 큐로 주고받으므로
+ * 정상 상태에서는 힙 할당이 없고, 학습이 느리면 로더가 free 큐에서 기다림
+ * 로더는 에폭을 계속 이어서 준비하므로 다 쓰면 close() 로 종료해야 함
+ * 로더 스레드는 인터럽트하지 않고 closed 플래그로 멈추므로 소스가 쓰는 채널이 인터럽트로 닫히지 않음
+ *
+ * 예: try (DataLoader loader = DataLoader.of(inputs, targets, 32).shuffle(42)) { nn.train(loader, criteria); }
+ */
+public class DataLoader implements AutoCloseable {
+
+    /**
+     * 미니배치 버퍼 (inputs: [batchSize][inputSize], targets: [batchSize][targetSize] 행 우선)
+     * size 가 0 이면 에폭 끝 표시
+     */
+    public static final class Batch {
+        final double[] inputs;
+        final double[] targets;
+        int size;
+        int epoch;
+        // free 큐에 있거나 로더가 채우는 중이면 true (take 로 꺼낸 뒤 release 전까지 false)
+        boolean released = true;
+
+        Batch(int batchSize, int inputSize, int targetSize) {
+            inputs = new double[batchSize * inputSize];
+            targets = new double[batchSize * targetSize];
+        }
+
+        public double[] getInputs() {
+            return inputs;
+        }
+
+        public double[] getTargets() {
+            return targets;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public int getEpoch() {
+            return epoch;
+        }
+
+        public boolean isEndOfEpoch() {
+            return size == 0;
+        }
+    }
+
+    // ready 큐에 넣는 종료 표시의 size (로더 실패, close)
+    private static final int FAILED = -1;
+    private static final int CLOSED = -2;
+
+    // 로더 스레드가 큐에서 기다리다 closed 를 확인하는 간격
+    private static final long POLL_MILLIS = 50;
+
+    private final double[][] inputs;
+    private final double[][] targets;
+    private final SampleSource source;
+    private final int inputSize;
+    private final int targetSize;
+    private final int batchSize;
+
+    private int prefetch = 4;
+    private boolean shuffle;
+    private int window;
+    private long seed;
+    private SampleTransform transform;
+
+    private BlockingQueue<Batch> free;
+    private BlockingQueue<Batch> ready;
+    private Thread thread;
+    private volatile Throwable failure;
+    private volatile boolean closed;
+
+    private DataLoader(double[][] inputs, double[][] targets, SampleSource source,
+                       int inputSize, int targetSize, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("배치 크기는 1 이상이어야 합니다. batchSize=" + batchSize);
+        }
+        this.inputs = inputs;
+        this.targets = targets;
+        this.source = source;
+        this.inputSize = inputSize;
+        this.targetSize = targetSize;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 메모리에 있는 데이터셋 (전체 셔플 가능)
+     */
+    public static DataLoader of(double[][] inputs, double[][] targets, int batchSize) {
+        if (inputs.length != targets.length || inputs.length == 0) {
+            throw new IllegalArgumentException("입력 샘플 수와 타깃 샘플 수가 다릅니다.");
+        }
+        return new DataLoader(inputs, targets, null, inputs[0].length, targets[0].length, batchSize);
+    }
+
+    /**
+     * 스트리밍 데이터셋 (창 단위 셔플만 가능, 소스는 로더 스레드만 읽음)
+     */
+    public static DataLoader of(SampleSource source, int batchSize) {
+        return new DataLoader(null, null, source, source.inputSize(), source.targetSize(), batchSize);
+    }
+
+    /**
+     * 에폭마다 전체 순서를 섞음 (메모리 데이터셋 전용)
+     */
+    public DataLoader shuffle(long seed) {
+        if (source != null) {
+            throw new IllegalStateException("스트리밍 데이터셋은 shuffleWindow 를 사용해야 합니다.");
+        }
+        checkNotStarted();
+        this.shuffle = true;
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * window 개 샘플을 담아 두고 그중 임의의 하나를 내보내는 창 단위 셔플
+     * 창이 클수록 전체 셔플에 가까워지고, 메모리는 window 개 샘플만큼 사용
+     */
+    public DataLoader shuffleWindow(int window, long seed) {
+        if (window <= 1) {
+            throw new IllegalArgumentException("window 는 2 이상이어야 합니다. window=" + window);
+        }
+        checkNotStarted();
+        this.window = window;
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * 로더 스레드에서 샘플마다 적용할 전처리
+     */
+    public DataLoader transform(SampleTransform transform) {
+        checkNotStarted();
+        this.transform = transform;
+        return this;
+    }
+
+    /**
+     * 미리 준비해 둘 배치 버퍼 수 (기본 4)
+     */
+    public DataLoader prefetch(int batches) {
+        if (batches <= 0) {
+            throw new IllegalArgumentException("prefetch 는 1 이상이어야 합니다. batches=" + batches);
+        }
+        checkNotStarted();
+        this.prefetch = batches;
+        return this;
+    }
+
+    private void checkNotStarted() {
+        if (thread != null) {
+            throw new IllegalStateException("로더가 이미 시작되었습니다.");
+        }
+    }
+
+    public int getInputSize() {
+        return inputSize;
+    }
+
+    public int getTargetSize() {
+        return targetSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * 다음 배치 (없으면 로더가 채울 때까지 대기)
+     * 다 쓴 배치는 release 로 돌려줘야 로더가 다시 채울 수 있음
+     * 닫힌 로더에서 호출하거나 기다리는 중에 닫히면 IllegalStateException
+     */
+    public Batch take() {
+        if (closed) {
+            throw new IllegalStateException("데이터 로더가 닫혔습니다.");
+        }
+        if (thread == null) {
+            start();
+        }
+        if (failure != null) {
+            throw new IllegalStateException("데이터 로더가 실패했습니다.", failure);
+        }
+        try {
+            Batch batch = ready.take();
+            if (batch.size < 0) {
+                // 같은 로더를 기다리는 다른 스레드도 깨어나도록 종료 표시를 되돌려 놓음
+                ready.offer(batch);
+                if (batch.size == CLOSED) {
+                    throw new IllegalStateException("데이터 로더가 닫혔습니다.");
+                }
+                throw new IllegalStateException("데이터 로더가 실패했습니다.", failure);
+            }
+            batch.released = false;
+            return batch;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("데이터 로더 대기 중 인터럽트되었습니다.", e);
+        }
+    }
+
+    /**
+     * take 로 받은 배치를 돌려줌 (같은 배치를 두 번 돌려주면 IllegalStateException, 닫힌 뒤에는 무시)
+     */
+    public void release(Batch batch) {
+        if (closed) {
+            return;
+        }
+        synchronized (batch) {
+            if (batch.released) {
+                throw new IllegalStateException("이미 반환한 배치입니다.");
+            }
+            batch.released = true;
+        }
+        free.add(batch);
+    }
+
+    private synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        // 에폭 끝 표시도 버퍼 하나를 쓰므로 하나 더 둠
+        free = new ArrayBlockingQueue<>(prefetch + 1);
+        ready = new ArrayBlockingQueue<>(prefetch + 1);
+        for (int k = 0; k <= prefetch; k++) {
+            free.add(new Batch(batchSize, inputSize, targetSize));
+        }
+        thread = new Thread(this::run, "nn-data-loader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        Random random = new Random(seed);
+        double[] x = new double[inputSize];
+        double[] t = new double[targetSize];
+        SampleStream stream = source != null ? new SourceStream() : new ArrayStream();
+        WindowShuffle windowShuffle = window > 0 ? new WindowShuffle(window, inputSize, targetSize) : null;
+
+        try {
+            for (int epoch = 1; !closed; epoch++) {
+                stream.reset(random);
+                Batch batch = takeFree();
+                if (batch == null) {
+                    return;
+                }
+                batch.size = 0;
+
+                while (!closed) {
+                    boolean more = windowShuffle != null
+                            ? windowShuffle.next(stream, random, x, t)
+                            : stream.next(x, t);
+                    if (!more) {
+                        break;
+                    }
+                    if (transform != null) {
+                        transform.apply(x, t);
+                    }
+                    System.arraycopy(x, 0, batch.inputs, batch.size * inputSize, inputSize);
+                    System.arraycopy(t, 0, batch.targets, batch.size * targetSize, targetSize);
+                    if (++batch.size == batchSize) {
+                        batch.epoch = epoch;
+                        if (!putReady(batch) || (batch = takeFree()) == null) {
+                            return;
+                        }
+                        batch.size = 0;
+                    }
+                }
+                if (batch.size > 0) {
+                    batch.epoch = epoch;
+                    if (!putReady(batch) || (batch = takeFree()) == null) {
+                        return;
+                    }
+                }
+
+                // 에폭 끝 표시
+                batch.size = 0;
+                batch.epoch = epoch;
+                if (!putReady(batch)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            // 로더 스레드는 인터럽트하지 않으므로 외부에서 인터럽트한 경우에만 여기로 옴
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            if (!closed) {
+                failure = e;
+                postMarker(FAILED);
+            }
+        } finally {
+            // close 와 take 의 순서와 상관없이 기다리는 스레드가 깨어나도록 로더가 직접 종료 표시를 남김
+            if (closed) {
+                postMarker(CLOSED);
+            }
+        }
+    }
+
+    /**
+     * 빈 배치 버퍼를 꺼냄 (기다리는 중에 닫히면 null)
+     */
+    private Batch takeFree() throws InterruptedException {
+        while (!closed) {
+            Batch batch = free.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (batch != null) {
+                return batch;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 채운 배치를 넘김 (기다리는 중에 닫히면 false)
+     */
+    private boolean putReady(Batch batch) throws InterruptedException {
+        while (!closed) {
+            if (ready.offer(batch, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 남은 배치를 버리고 종료 표시만 남김 (take 에서 기다리는 스레드를 깨움)
+    private void postMarker(int size) {
+        Batch marker = new Batch(0, 0, 0);
+        marker.size = size;
+        ready.clear();
+        ready.offer(marker);
+    }
+
+    /**
+     * 로더 스레드 종료 (스트리밍 소스는 닫지 않음)
+     * 로더를 인터럽트하지 않으므로 로더가 읽고 있는 샘플 하나를 마칠 때까지 기다릴 수 있음
+     * 닫은 뒤 take 는 IllegalStateException 을 던지고, take 에서 기다리던 스레드도 같은 예외로 깨어남
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Thread running;
+        synchronized (this) {
+            running = thread;
+        }
+        if (running == null) {
+            return;
+        }
+        try {
+            running.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 에폭 단위 샘플 순회
+     */
+    private interface SampleStream {
+        void reset(Random random) throws IOException;
+
+        boolean next(double[] input, double[] target) throws IOException;
+    }
+
+    private final class ArrayStream implements SampleStream {
+        private final int[] order = new int[inputs.length];
+        private int position;
+
+        ArrayStream() {
+            for (int n = 0; n < order.length; n++) {
+                order[n] = n;
+            }
+        }
+
+        @Override
+        public void reset(Random random) {
+            // Fisher-Yates
+            if (shuffle) {
+                for (int n = order.length - 1; n > 0; n--) {
+                    int m = random.nextInt(n + 1);
+                    int tmp = order[n];
+                    order[n] = order[m];
+                    order[m] = tmp;
+                }
+            }
+            position = 0;
+        }
+
+        @Override
+        public boolean next(double[] input, double[] target) {
+            if (position == order.length) {
+                return false;
+            }
+            int n = order[position++];
+            if (inputs[n].length != inputSize || targets[n].length != targetSize) {
+                throw new IllegalArgumentException("샘플 크기가 잘못되었습니다. index=" + n);
+            }
+            System.arraycopy(inputs[n], 0, input, 0, inputSize);
+            System.arraycopy(targets[n], 0, target, 0, targetSize);
+            return true;
+        }
+    }
+
+    private final class SourceStream implements SampleStream {
+        @Override
+        public void reset(Random random) throws IOException {
+            source.reset();
+        }
+
+        @Override
+        public boolean next(double[] input, double[] target) throws IOException {
+            return source.next(input, target);
+        }
+    }
+
+    /**
+     * 창 단위 셔플: 창을 채운 뒤 임의의 칸을 내보내고 그 자리를 다음 샘플로 채움
+     */
+    private static final class WindowShuffle {
+        private final double[] inputs;
+        private final double[] targets;
+        private final int inputSize;
+        private final int targetSize;
+        private final int capacity;
+        private int count;
+        private boolean exhausted;
+
+        WindowShuffle(int capacity, int inputSize, int targetSize) {
+            this.capacity = capacity;
+            this.inputSize = inputSize;
+            this.targetSize = targetSize;
+            this.inputs = new double[capacity * inputSize];
+            this.targets = new double[capacity * targetSize];
+        }
+
+        boolean next(SampleStream stream, Random random, double[] x, double[] t) throws IOException {
+            if (count == 0 && exhausted) {
+                // 다음 에폭을 위해 초기화
+                exhausted = false;
+                return false;
+            }
+            while (!exhausted && count < capacity) {
+                if (stream.next(x, t)) {
+                    System.arraycopy(x, 0, inputs, count * inputSize, inputSize);
+                    System.arraycopy(t, 0, targets, count * targetSize, targetSize);
+                    count++;
+                } else {
+                    exhausted = true;
+                }
+            }
+            if (count == 0) {
+                exhausted = false;
+                return false;
+            }
+
+            // 임의의 칸을 내보내고 마지막 칸으로 메움
+            int slot = random.nextInt(count);
+            System.arraycopy(inputs, slot * inputSize, x, 0, inputSize);
+            System.arraycopy(targets, slot * targetSize, t, 0, targetSize);
+            count--;
+            System.arraycopy(inputs, count * inputSize, inputs, slot * inputSize, inputSize);
+            System.arraycopy(targets, count * targetSize, targets, slot * targetSize, targetSize);
+            return true;
+        }
+    }
+}
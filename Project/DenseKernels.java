@@ -0,0 +1,81 @@
+import java.nio.ByteBuffer;
+
+/**
+ * DenseLayer 내부 루프용 벡터 연산
+ * jdk.incubator.vector 모듈이 있으면 SIMD 구현(SimdKernels), 없으면 스칼라 구현을 사용
+ */
+public interface DenseKernels {
+
+    /**
+     * a[aOffset..] 와 b[bOffset..] 의 내적
+     */
+    double dot(double[] a, int aOffset, double[] b, int bOffset, int length);
+
+    /**
+     * y[yOffset..] += alpha * x[xOffset..]
+     */
+    void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, int length);
+
+    /**
+     * 모멘텀 갱신을 한 번에 수행
+     * v = momentum * v - scale * g, w += v  (w/v 는 wOffset, g 는 gOffset 부터)
+     */
+    void momentumUpdate(double[] w, double[] v, int wOffset, double[] g, int gOffset, int length,
+                        double momentum, double scale);
+
+    /**
+     * 힙 밖 버퍼와 배열의 내적
+     * 버퍼는 a.order() 바이트 순서의 double 배열로 보고, aIndex 는 double 단위 위치 (OffHeapDenseLayer 용)
+     */
+    double dot(ByteBuffer a, int aIndex, double[] b, int bOffset, int length);
+
+    /**
+     * y[yOffset..] += alpha * x[xIndex..]  (x 는 힙 밖 버퍼)
+     */
+    void axpy(double alpha, ByteBuffer x, int xIndex, double[] y, int yOffset, int length);
+
+    /**
+     * y[yIndex..] += alpha * x[xOffset..]  (y 는 힙 밖 버퍼)
+     */
+    void axpy(double alpha, double[] x, int xOffset, ByteBuffer y, int yIndex, int length);
+
+    /**
+     * 힙 밖 버퍼의 모멘텀 갱신 (w/v 는 index 부터, g 는 gOffset 부터)
+     */
+    void momentumUpdate(ByteBuffer w, ByteBuffer v, int index, double[] g, int gOffset, int length,
+                        double momentum, double scale);
+
+    /**
+     * float 내적
+     */
+    float dot(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+    /**
+     * float y[yOffset..] += alpha * x[xOffset..]
+     */
+    void axpy(float alpha, float[] x, int xOffset, float[] y, int yOffset, int length);
+
+    /**
+     * float 모멘텀 갱신
+     */
+    void momentumUpdate(float[] w, float[] v, int wOffset, float[] g, int gOffset, int length,
+                        float momentum, float scale);
+
+    /**
+     * 사용할 구현 선택
+     * -Dnn.kernels=scalar 로 스칼라 구현을 강제할 수 있음
+     */
+    static DenseKernels load() {
+        if (!"scalar".equals(System.getProperty("nn.kernels"))
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                String pkg = DenseKernels.class.getPackageName();
+                String name = pkg.isEmpty() ? "SimdKernels" : pkg + ".SimdKernels";
+                return (DenseKernels) Class.forName(name).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // SIMD 구현이 빌드되지 않았거나 로드할 수 없으면 스칼라로 대체
+            }
+        }
+        return new ScalarKernels();
+    }
+}
@@ -1,54 +1,178 @@
+import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 public class DenseLayer {
 
+    // 내적/axpy 커널 (SIMD 사용 가능 시 SIMD 구현)
+    private static final DenseKernels KERNELS = DenseKernels.load();
+
     private final int inputSize;
     private final int outputSize;
 
-    private final double[][] weights;   
-    private final double[] biases;       
-
-    
-    private final double[][] velocityW;  
-    private final double[] velocityB;   
+    // 가중치는 출력 뉴런 단위로 연속 저장: weights[o * inputSize + i]
+    private final double[] weights;
+    private final double[] biases;
 
     private final ActivationFunction activation;
     private double learningRate;
-    private double momentum;
 
-    private double[] lastInput;
-    private double[] lastOutput;
+    // 갱신 규칙과 버퍼별 상태 (상태는 첫 갱신 때 할당, SGD 는 할당하지 않음)
+    private Optimizer optimizer;
+    private double[][] stateW;
+    private double[][] stateB;
+    private long step;
+
+    // 희소 입력 학습에서 열(입력 인덱스)마다 마지막으로 갱신한 step
+    // 건너뛴 열은 다음에 읽기 전에 따라잡고, 밀집 경로에 들어가기 전에는 전부 따라잡음
+    private long[] columnStep;
+    private volatile boolean sparsePending;
+    private SparseVector lastSparseInput;
+
+    // 희소 미니배치 작업 버퍼 (처음 사용할 때 할당)
+    private int[] columnSlot;
+    private int[] columnStamp;
+    private int stamp;
+    private int[] touchedColumns;
+    private double[] sparseGradW;
+    private double lastSparseGradNorm;
+
+    // 가지치기 마스크 (true 인 가중치는 0 으로 고정, 가지치기 전에는 null)
+    private boolean[] pruned;
+
+    // 손실 함수와 합쳐진 출력층이면 gradOutput 이 이미 net 입력에 대한 기울기 (활성화 미분 생략)
+    private boolean fusedOutput;
+
+    // 역전파를 위한 캐시 (생성 시 한 번만 할당하고 재사용)
+    private final double[] lastInput;
+    private final double[] lastOutput;
+    private final double[] sampleGradNet;
+
+    // 미니배치 역전파를 위한 캐시 (복사하지 않고 참조만 보관)
+    private double[] lastBatchInput;
+    private CsrMatrix lastSparseBatch;
+    private int lastSparseRowStart;
+    private double[] lastBatchOutput;
+    private int lastBatchSize;
+
+    // 미니배치 기울기 누적 버퍼 (처음 사용할 때 할당)
+    private double[] gradW;
+    private double[] gradB;
+    private double[] batchGradNet;
+
+    private final Random random;
+
+    // 마지막 갱신에 사용한 배치 기울기 (gradientNorm 용, 샘플 단위 갱신이면 batch 0)
+    private double[] lastGradW;
+    private double[] lastGradB;
+    private int lastGradBatch;
 
-    private final Random random = new Random();
+    // 가중치가 바뀔 때마다 증가 (예측 캐시 무효화용)
+    // 네트워크에 추가되면 네트워크 카운터도 함께 올림 (여러 네트워크에 넣으면 마지막 네트워크만)
+    private volatile long version;
+    private AtomicLong networkVersion;
 
     public DenseLayer(int inputSize,
                       int outputSize,
                       ActivationFunction activation,
                       double learningRate,
                       double momentum) {
+        this(inputSize, outputSize, activation, learningRate, momentumOptimizer(momentum), new Random());
+    }
+
+    /**
+     * 갱신 규칙을 지정한 레이어
+     */
+    public DenseLayer(int inputSize,
+                      int outputSize,
+                      ActivationFunction activation,
+                      double learningRate,
+                      Optimizer optimizer) {
+        this(inputSize, outputSize, activation, learningRate, optimizer, new Random());
+    }
+
+    /**
+     * 시드를 고정한 레이어 (가중치 초기화를 재현 가능하게)
+     */
+    public DenseLayer(int inputSize,
+                      int outputSize,
+                      ActivationFunction activation,
+                      double learningRate,
+                      double momentum,
+                      long seed) {
+        this(inputSize, outputSize, activation, learningRate, momentumOptimizer(momentum), new Random(seed));
+    }
+
+    /**
+     * 갱신 규칙과 시드를 지정한 레이어
+     */
+    public DenseLayer(int inputSize,
+                      int outputSize,
+                      ActivationFunction activation,
+                      double learningRate,
+                      Optimizer optimizer,
+                      long seed) {
+        this(inputSize, outputSize, activation, learningRate, optimizer, new Random(seed));
+    }
 
+    private DenseLayer(int inputSize,
+                       int outputSize,
+                       ActivationFunction activation,
+                       double learningRate,
+                       Optimizer optimizer,
+                       Random random) {
+
+        this.random = random;
         this.inputSize = inputSize;
         this.outputSize = outputSize;
         this.activation = activation;
         this.learningRate = learningRate;
-        this.momentum = momentum;
+        this.optimizer = optimizer;
 
-        this.weights = new double[inputSize][outputSize];
+        this.weights = new double[outputSize * inputSize];
         this.biases = new double[outputSize];
 
-        this.velocityW = new double[inputSize][outputSize];
-        this.velocityB = new double[outputSize];
+        this.lastInput = new double[inputSize];
+        this.lastOutput = new double[outputSize];
+        this.sampleGradNet = new double[outputSize];
+
+        // 저장된 모델을 불러올 때는 초기화를 건너뜀 (가중치를 곧바로 덮어씀)
+        if (random != null) {
+            initWeights();
+            initBiases();
+        }
+    }
+
+    /**
+     * 가중치를 0 으로 둔 채 만든 레이어 (저장된 파라미터를 채워 넣는 용도)
+     */
+    static DenseLayer uninitialized(int inputSize,
+                                    int outputSize,
+                                    ActivationFunction activation,
+                                    double learningRate,
+                                    double momentum) {
+        return uninitialized(inputSize, outputSize, activation, learningRate, momentumOptimizer(momentum));
+    }
 
-        initWeights();
-        initBiases();
+    static DenseLayer uninitialized(int inputSize,
+                                    int outputSize,
+                                    ActivationFunction activation,
+                                    double learningRate,
+                                    Optimizer optimizer) {
+        return new DenseLayer(inputSize, outputSize, activation, learningRate, optimizer, (Random) null);
+    }
+
+    // 기존 (learningRate, momentum) 생성자용: momentum 이 0 이면 속도 배열이 없는 SGD
+    private static Optimizer momentumOptimizer(double momentum) {
+        return momentum == 0.0 ? new SgdOptimizer() : new MomentumOptimizer(momentum);
     }
 
     private void initWeights() {
         double range = Math.sqrt(6.0 / (inputSize + outputSize));
         for (int i = 0; i < inputSize; i++) {
             for (int o = 0; o < outputSize; o++) {
-                weights[i][o] = (random.nextDouble() * 2.0 - 1.0) * range;
+                weights[o * inputSize + i] = (random.nextDouble() * 2.0 - 1.0) * range;
             }
         }
     }
@@ -63,76 +187,843 @@ public class DenseLayer {
      * 순전파
      */
     public double[] forward(double[] input) {
+        double[] output = new double[outputSize];
+        forward(input, output);
+        return output;
+    }
+
+    /**
+     * 순전파 (출력 버퍼 재사용)
+     * 결과를 out 에 쓰며 힙 할당이 없음
+     */
+    public void forward(double[] input, double[] out) {
         if (input.length != inputSize) {
             throw new IllegalArgumentException("입력 크기가 잘못되었습니다. expected=" 
                     + inputSize + ", actual=" + input.length);
         }
+        if (out.length != outputSize) {
+            throw new IllegalArgumentException("출력 크기가 잘못되었습니다. expected="
+                    + outputSize + ", actual=" + out.length);
+        }
 
-        double[] output = new double[outputSize];
+        flushSparse();
+        System.arraycopy(input, 0, lastInput, 0, inputSize);
+        lastSparseInput = null;
 
         for (int o = 0; o < outputSize; o++) {
-            double sum = biases[o];
-            for (int i = 0; i < inputSize; i++) {
-                sum += input[i] * weights[i][o];
-            }
-            output[o] = activation.activate(sum);
+            lastOutput[o] = biases[o] + dot(weights, o * inputSize, lastInput, 0, inputSize);
         }
+        activation.activate(lastOutput, lastOutput, outputSize);
 
-        this.lastInput = input.clone();
-        this.lastOutput = output.clone();
+        System.arraycopy(lastOutput, 0, out, 0, outputSize);
+    }
 
-        return output;
+    /**
+     * 추론 전용 순전파
+     * 역전파 캐시를 쓰지 않고 가중치만 읽으므로 여러 스레드에서 동시에 호출할 수 있음
+     * (학습과 동시에 호출하는 것은 안전하지 않음)
+     */
+    public void infer(double[] input, double[] out) {
+        if (input.length != inputSize) {
+            throw new IllegalArgumentException("입력 크기가 잘못되었습니다. expected="
+                    + inputSize + ", actual=" + input.length);
+        }
+        if (out.length < outputSize) {
+            throw new IllegalArgumentException("출력 크기가 잘못되었습니다. expected="
+                    + outputSize + ", actual=" + out.length);
+        }
+
+        flushSparse();
+        for (int o = 0; o < outputSize; o++) {
+            out[o] = biases[o] + dot(weights, o * inputSize, input, 0, inputSize);
+        }
+        activation.activate(out, out, outputSize);
+    }
+
+    /**
+     * 희소 입력 순전파 (역전파 캐시 저장)
+     * 0 이 아닌 열의 가중치만 읽으므로 비용이 inputSize 가 아니라 nonZeros 에 비례
+     */
+    public void forward(SparseVector input, double[] out) {
+        checkSparse(input, out);
+
+        // 건너뛰었던 열을 읽기 전에 따라잡음
+        int[] indices = input.indexArray();
+        for (int k = 0; k < input.getNonZeros(); k++) {
+            catchUpColumn(indices[k]);
+        }
+        sparseDot(input, lastOutput);
+        lastSparseInput = input;
+
+        System.arraycopy(lastOutput, 0, out, 0, outputSize);
+    }
+
+    /**
+     * 희소 입력 추론 (역전파 캐시를 쓰지 않음)
+     */
+    public void infer(SparseVector input, double[] out) {
+        checkSparse(input, out);
+        flushSparse();
+        sparseDot(input, out);
+    }
+
+    private void checkSparse(SparseVector input, double[] out) {
+        if (input.getSize() != inputSize) {
+            throw new IllegalArgumentException("입력 크기가 잘못되었습니다. expected="
+                    + inputSize + ", actual=" + input.getSize());
+        }
+        if (out.length < outputSize) {
+            throw new IllegalArgumentException("출력 크기가 잘못되었습니다. expected="
+                    + outputSize + ", actual=" + out.length);
+        }
+    }
+
+    private void sparseDot(SparseVector input, double[] out) {
+        int[] indices = input.indexArray();
+        double[] values = input.valueArray();
+        int nonZeros = input.getNonZeros();
+
+        for (int o = 0; o < outputSize; o++) {
+            int base = o * inputSize;
+            double sum = biases[o];
+            for (int k = 0; k < nonZeros; k++) {
+                sum += weights[base + indices[k]] * values[k];
+            }
+            out[o] = sum;
+        }
+        activation.activate(out, out, outputSize);
     }
 
     /**
      * 역전파
      */
     public double[] backward(double[] gradOutput) {
+        double[] gradInput = new double[inputSize];
+        backward(gradOutput, gradInput);
+        return gradInput;
+    }
+
+    /**
+     * 역전파 (기울기 버퍼 재사용)
+     * gradInput 이 null 이면 입력에 대한 기울기는 계산하지 않음 (첫 번째 레이어)
+     */
+    public void backward(double[] gradOutput, double[] gradInput) {
         if (gradOutput.length != outputSize) {
             throw new IllegalArgumentException("gradOutput 크기가 잘못되었습니다.");
         }
-
-        double[] gradInput = new double[inputSize];
-        double[] gradNet = new double[outputSize]; 
+        if (gradInput != null) {
+            if (gradInput.length != inputSize) {
+                throw new IllegalArgumentException("gradInput 크기가 잘못되었습니다.");
+            }
+            Arrays.fill(gradInput, 0.0);
+        }
 
         // 활성화 미분
+        System.arraycopy(gradOutput, 0, sampleGradNet, 0, outputSize);
+        if (!fusedOutput) {
+            activation.derivativeInPlace(lastOutput, sampleGradNet, outputSize);
+        }
+
+        if (lastSparseInput != null) {
+            backwardSparse(gradInput);
+            return;
+        }
+
+        flushSparse();
+        ensureOptimizerState();
+        step++;
+
         for (int o = 0; o < outputSize; o++) {
-            double dAct = activation.derivative(lastOutput[o]);
-            gradNet[o] = gradOutput[o] * dAct;
+            double g = sampleGradNet[o];
+
+            // 입력 기울기는 갱신 전 가중치로 누적하고, 같은 행을 그대로 이어서 갱신
+            // 가중치 기울기 행은 g * lastInput 이므로 lastInput 을 g 배율로 넘김
+            int base = o * inputSize;
+            if (gradInput != null) {
+                KERNELS.axpy(g, weights, base, gradInput, 0, inputSize);
+            }
+            optimizer.update(weights, base, lastInput, 0, inputSize, learningRate, g, stateW, step);
         }
+        optimizer.update(biases, 0, sampleGradNet, 0, outputSize, learningRate, 1.0, stateB, step);
+        applyMask();
+        lastGradBatch = 0;
+        markModified();
+    }
 
-        // 입력에 대한 기울기 계산
-        for (int i = 0; i < inputSize; i++) {
-            double sum = 0.0;
+    /**
+     * 희소 입력 역전파: 0 이 아닌 열의 가중치만 갱신
+     * 가중치 기울기 행 o 는 gradNet[o] * input 이므로 input 값들을 gradNet[o] 배율로 넘김
+     */
+    private void backwardSparse(double[] gradInput) {
+        SparseVector input = lastSparseInput;
+        int[] indices = input.indexArray();
+        int nonZeros = input.getNonZeros();
+
+        if (gradInput != null) {
+            flushSparse();
+            Arrays.fill(gradInput, 0.0);
+        }
+        ensureOptimizerState();
+        ensureColumnStep();
+        step++;
+
+        for (int o = 0; o < outputSize; o++) {
+            double g = sampleGradNet[o];
+            int base = o * inputSize;
+            if (gradInput != null) {
+                KERNELS.axpy(g, weights, base, gradInput, 0, inputSize);
+            }
+            optimizer.updateSparse(weights, base, indices, input.valueArray(), 0, nonZeros,
+                    learningRate, g, stateW, step);
+        }
+        optimizer.update(biases, 0, sampleGradNet, 0, outputSize, learningRate, 1.0, stateB, step);
+
+        for (int k = 0; k < nonZeros; k++) {
+            columnStep[indices[k]] = step;
+        }
+        applyMask(indices, nonZeros);
+        sparsePending = true;
+        lastGradBatch = 0;
+        markModified();
+    }
+
+    /**
+     * 희소 미니배치 순전파 (역전파 캐시 저장)
+     * input 의 rowStart 부터 batchSize 개 행을 사용하고, output 은 [batchSize][outputSize]
+     */
+    public void forwardBatch(CsrMatrix input, int rowStart, double[] output, int batchSize) {
+        checkSparseBatch(input, rowStart, output, batchSize);
+
+        int[] rowPointers = input.rowPointerArray();
+        int[] columns = input.columnIndexArray();
+        for (int k = rowPointers[rowStart]; k < rowPointers[rowStart + batchSize]; k++) {
+            catchUpColumn(columns[k]);
+        }
+        sparseBatchDot(input, rowStart, output, batchSize);
+
+        this.lastBatchInput = null;
+        this.lastSparseBatch = input;
+        this.lastSparseRowStart = rowStart;
+        this.lastBatchOutput = output;
+        this.lastBatchSize = batchSize;
+    }
+
+    /**
+     * 희소 미니배치 추론 (역전파 캐시를 쓰지 않음)
+     */
+    public void inferBatch(CsrMatrix input, int rowStart, double[] output, int batchSize) {
+        checkSparseBatch(input, rowStart, output, batchSize);
+        flushSparse();
+        sparseBatchDot(input, rowStart, output, batchSize);
+    }
+
+    private void checkSparseBatch(CsrMatrix input, int rowStart, double[] output, int batchSize) {
+        if (input.getColumns() != inputSize) {
+            throw new IllegalArgumentException("입력 크기가 잘못되었습니다. expected="
+                    + inputSize + ", actual=" + input.getColumns());
+        }
+        if (rowStart < 0 || rowStart + batchSize > input.getRows()) {
+            throw new IllegalArgumentException("배치 범위가 잘못되었습니다. rowStart=" + rowStart
+                    + ", batchSize=" + batchSize + ", rows=" + input.getRows());
+        }
+        if (output.length < batchSize * outputSize) {
+            throw new IllegalArgumentException("배치 출력 크기가 잘못되었습니다. expected="
+                    + (batchSize * outputSize) + ", actual=" + output.length);
+        }
+    }
+
+    private void sparseBatchDot(CsrMatrix input, int rowStart, double[] output, int batchSize) {
+        int[] rowPointers = input.rowPointerArray();
+        int[] columns = input.columnIndexArray();
+        double[] values = input.valueArray();
+
+        for (int b = 0; b < batchSize; b++) {
+            int from = rowPointers[rowStart + b];
+            int to = rowPointers[rowStart + b + 1];
             for (int o = 0; o < outputSize; o++) {
-                sum += gradNet[o] * weights[i][o];
+                int base = o * inputSize;
+                double sum = biases[o];
+                for (int k = from; k < to; k++) {
+                    sum += weights[base + columns[k]] * values[k];
+                }
+                output[b * outputSize + o] = sum;
             }
-            gradInput[i] = sum;
         }
+        activation.activate(output, output, batchSize, outputSize);
+    }
 
-        for (int i = 0; i < inputSize; i++) {
+    /**
+     * 희소 미니배치 역전파
+     * 배치에 등장한 열만 모아 기울기를 누적하고 그 열의 가중치만 평균 기울기로 갱신
+     */
+    private void backwardBatchSparse(double[] gradOutput, double[] gradInput, int batchSize) {
+        CsrMatrix input = lastSparseBatch;
+        int[] rowPointers = input.rowPointerArray();
+        int[] columns = input.columnIndexArray();
+        double[] values = input.valueArray();
+        int rowStart = lastSparseRowStart;
+
+        if (gradOutput.length < batchSize * outputSize) {
+            throw new IllegalArgumentException("gradOutput 크기가 잘못되었습니다.");
+        }
+        if (gradInput != null && gradInput.length < batchSize * inputSize) {
+            throw new IllegalArgumentException("gradInput 크기가 잘못되었습니다.");
+        }
+        if (gradB == null) {
+            gradB = new double[outputSize];
+        }
+        if (batchGradNet == null || batchGradNet.length < batchSize * outputSize) {
+            batchGradNet = new double[batchSize * outputSize];
+        }
+
+        // 활성화 미분
+        System.arraycopy(gradOutput, 0, batchGradNet, 0, batchSize * outputSize);
+        if (!fusedOutput) {
+            activation.derivativeInPlace(lastBatchOutput, batchGradNet, batchSize, outputSize);
+        }
+
+        // 배치에 등장한 열에 0..touched-1 슬롯 번호를 붙임
+        if (columnSlot == null) {
+            columnSlot = new int[inputSize];
+            columnStamp = new int[inputSize];
+            touchedColumns = new int[0];
+        }
+        if (++stamp == 0) {
+            Arrays.fill(columnStamp, 0);
+            stamp = 1;
+        }
+        int touched = 0;
+        for (int k = rowPointers[rowStart]; k < rowPointers[rowStart + batchSize]; k++) {
+            int column = columns[k];
+            if (columnStamp[column] != stamp) {
+                columnStamp[column] = stamp;
+                if (touched == touchedColumns.length) {
+                    touchedColumns = Arrays.copyOf(touchedColumns, Math.max(16, touched * 2));
+                }
+                columnSlot[column] = touched;
+                touchedColumns[touched++] = column;
+            }
+        }
+        // 슬롯 순서를 열 순서로 맞춰 갱신이 행 안에서 앞으로만 움직이게 함
+        Arrays.sort(touchedColumns, 0, touched);
+        for (int k = 0; k < touched; k++) {
+            columnSlot[touchedColumns[k]] = k;
+        }
+
+        // 기울기 누적: sparseGradW[o * touched + slot]
+        if (sparseGradW == null || sparseGradW.length < outputSize * touched) {
+            sparseGradW = new double[Math.max(outputSize * touched, outputSize * 16)];
+        }
+        Arrays.fill(sparseGradW, 0, outputSize * touched, 0.0);
+        Arrays.fill(gradB, 0.0);
+        if (gradInput != null) {
+            flushSparse();
+            Arrays.fill(gradInput, 0, batchSize * inputSize, 0.0);
+        }
+
+        for (int b = 0; b < batchSize; b++) {
+            int from = rowPointers[rowStart + b];
+            int to = rowPointers[rowStart + b + 1];
             for (int o = 0; o < outputSize; o++) {
-                double gradW = lastInput[i] * gradNet[o];
-                velocityW[i][o] = momentum * velocityW[i][o] - learningRate * gradW;
-                weights[i][o] += velocityW[i][o];
+                double g = batchGradNet[b * outputSize + o];
+                gradB[o] += g;
+                int slotBase = o * touched;
+                for (int k = from; k < to; k++) {
+                    sparseGradW[slotBase + columnSlot[columns[k]]] += g * values[k];
+                }
+                if (gradInput != null) {
+                    KERNELS.axpy(g, weights, o * inputSize, gradInput, b * inputSize, inputSize);
+                }
             }
         }
 
+        // 갱신
+        ensureOptimizerState();
+        ensureColumnStep();
+        step++;
+        double scale = 1.0 / batchSize;
         for (int o = 0; o < outputSize; o++) {
-            double gradB = gradNet[o];
-            velocityB[o] = momentum * velocityB[o] - learningRate * gradB;
-            biases[o] += velocityB[o];
+            optimizer.updateSparse(weights, o * inputSize, touchedColumns, sparseGradW, o * touched, touched,
+                    learningRate, scale, stateW, step);
         }
+        optimizer.update(biases, 0, gradB, 0, outputSize, learningRate, scale, stateB, step);
 
-        return gradInput;
+        for (int k = 0; k < touched; k++) {
+            columnStep[touchedColumns[k]] = step;
+        }
+        applyMask(touchedColumns, touched);
+        sparsePending = true;
+
+        double normSq = dot(sparseGradW, 0, sparseGradW, 0, outputSize * touched) + sumOfSquares(gradB);
+        lastSparseGradNorm = Math.sqrt(normSq) / batchSize;
+        lastGradBatch = -1;
+        markModified();
+    }
+
+    private void ensureColumnStep() {
+        if (columnStep == null) {
+            columnStep = new long[inputSize];
+            Arrays.fill(columnStep, step);
+        }
+    }
+
+    /**
+     * 열 하나를 현재 step 까지 따라잡음
+     */
+    private void catchUpColumn(int column) {
+        if (columnStep == null) {
+            return;
+        }
+        long last = columnStep[column];
+        if (last == step) {
+            return;
+        }
+        for (int o = 0; o < outputSize; o++) {
+            optimizer.catchUp(weights, o * inputSize + column, stateW, last, step, learningRate);
+        }
+        columnStep[column] = step;
+    }
+
+    /**
+     * 희소 학습으로 밀린 열을 모두 따라잡음 (밀집 경로에서 가중치를 읽기 전에 호출)
+     */
+    private void flushSparse() {
+        if (!sparsePending) {
+            return;
+        }
+        synchronized (this) {
+            if (!sparsePending) {
+                return;
+            }
+            for (int i = 0; i < inputSize; i++) {
+                catchUpColumn(i);
+            }
+            // 이후 밀집 갱신은 모든 열을 함께 움직이므로 열별 step 은 다음 희소 갱신 때 다시 시작
+            columnStep = null;
+            sparsePending = false;
+        }
+    }
+
+    /**
+     * 미니배치 순전파
+     * input: [batchSize][inputSize], output: [batchSize][outputSize] 를 행 우선으로 펼친 배열
+     */
+    public void forwardBatch(double[] input, double[] output, int batchSize) {
+        inferBatch(input, output, batchSize);
+
+        this.lastSparseBatch = null;
+        this.lastBatchInput = input;
+        this.lastBatchOutput = output;
+        this.lastBatchSize = batchSize;
+    }
+
+    /**
+     * 추론 전용 미니배치 순전파
+     * 역전파 캐시를 쓰지 않으므로 여러 스레드에서 동시에 호출할 수 있음
+     */
+    public void inferBatch(double[] input, double[] output, int batchSize) {
+        if (input.length < batchSize * inputSize) {
+            throw new IllegalArgumentException("배치 입력 크기가 잘못되었습니다. expected="
+                    + (batchSize * inputSize) + ", actual=" + input.length);
+        }
+        if (output.length < batchSize * outputSize) {
+            throw new IllegalArgumentException("배치 출력 크기가 잘못되었습니다. expected="
+                    + (batchSize * outputSize) + ", actual=" + output.length);
+        }
+
+        flushSparse();
+
+        // 가중치 행 하나를 캐시에 둔 채 배치 전체와 내적
+        for (int o = 0; o < outputSize; o++) {
+            int base = o * inputSize;
+            for (int b = 0; b < batchSize; b++) {
+                output[b * outputSize + o] = biases[o] + dot(weights, base, input, b * inputSize, inputSize);
+            }
+        }
+
+        activation.activate(output, output, batchSize, outputSize);
+    }
+
+    /**
+     * 미니배치 역전파
+     * 배치 전체의 기울기를 누적한 뒤 평균 기울기로 가중치를 한 번만 갱신
+     * gradInput 이 null 이면 입력에 대한 기울기는 계산하지 않음 (첫 번째 레이어)
+     */
+    public void backwardBatch(double[] gradOutput, double[] gradInput, int batchSize) {
+        if (lastSparseBatch != null && batchSize == lastBatchSize) {
+            backwardBatchSparse(gradOutput, gradInput, batchSize);
+            return;
+        }
+        if (lastBatchInput == null || batchSize != lastBatchSize) {
+            throw new IllegalStateException("backwardBatch 전에 같은 크기의 forwardBatch 가 필요합니다.");
+        }
+
+        if (gradW == null) {
+            gradW = new double[outputSize * inputSize];
+            gradB = new double[outputSize];
+        }
+        if (batchGradNet == null || batchGradNet.length < batchSize * outputSize) {
+            batchGradNet = new double[batchSize * outputSize];
+        }
+
+        Arrays.fill(gradW, 0.0);
+        Arrays.fill(gradB, 0.0);
+
+        computeGradients(lastBatchInput, lastBatchOutput, gradOutput, batchSize,
+                batchGradNet, gradW, gradB, gradInput);
+        applyGradients(gradW, gradB, batchSize);
+    }
+
+    /**
+     * 미니배치 기울기 계산
+     * 가중치는 읽기만 하고, 배치 기울기 합을 gradW/gradB 에 더함 (호출자가 미리 0 으로 초기화)
+     * input/output 은 같은 배치의 forwardBatch 입력/출력, gradNet 은 [batchSize][outputSize] 작업 버퍼
+     * gradInput 이 null 이면 입력에 대한 기울기는 계산하지 않음
+     */
+    public void computeGradients(double[] input, double[] output, double[] gradOutput, int batchSize,
+                                 double[] gradNet, double[] gradW, double[] gradB, double[] gradInput) {
+        if (gradOutput.length < batchSize * outputSize) {
+            throw new IllegalArgumentException("gradOutput 크기가 잘못되었습니다.");
+        }
+        if (gradInput != null && gradInput.length < batchSize * inputSize) {
+            throw new IllegalArgumentException("gradInput 크기가 잘못되었습니다.");
+        }
+        if (gradNet.length < batchSize * outputSize
+                || gradW.length != weights.length || gradB.length != outputSize) {
+            throw new IllegalArgumentException("기울기 버퍼 크기가 잘못되었습니다.");
+        }
+
+        if (gradInput != null) {
+            Arrays.fill(gradInput, 0, batchSize * inputSize, 0.0);
+        }
+        flushSparse();
+
+        // 활성화 미분
+        System.arraycopy(gradOutput, 0, gradNet, 0, batchSize * outputSize);
+        if (!fusedOutput) {
+            activation.derivativeInPlace(output, gradNet, batchSize, outputSize);
+        }
+
+        // 가중치 행 단위로 입력 기울기와 가중치 기울기를 함께 누적
+        for (int o = 0; o < outputSize; o++) {
+            int base = o * inputSize;
+            for (int b = 0; b < batchSize; b++) {
+                double g = gradNet[b * outputSize + o];
+                gradB[o] += g;
+                if (g == 0.0) {
+                    continue;
+                }
+                int inBase = b * inputSize;
+                KERNELS.axpy(g, input, inBase, gradW, base, inputSize);
+                if (gradInput != null) {
+                    KERNELS.axpy(g, weights, base, gradInput, inBase, inputSize);
+                }
+            }
+        }
+    }
+
+    /**
+     * 누적된 기울기 합을 batchSize 로 나눈 평균 기울기로 갱신
+     */
+    public void applyGradients(double[] gradW, double[] gradB, int batchSize) {
+        double scale = 1.0 / batchSize;
+
+        flushSparse();
+        ensureOptimizerState();
+        step++;
+        optimizer.update(weights, 0, gradW, 0, weights.length, learningRate, scale, stateW, step);
+        optimizer.update(biases, 0, gradB, 0, outputSize, learningRate, scale, stateB, step);
+        applyMask();
+
+        lastGradW = gradW;
+        lastGradB = gradB;
+        lastGradBatch = batchSize;
+        markModified();
+    }
+
+    /**
+     * 크기(절댓값)가 작은 가중치부터 골라 전체의 sparsity 비율만큼 0 으로 고정
+     * 이미 가지친 가중치는 그대로 두므로 sparsity 를 점점 올리며 반복 호출할 수 있음
+     * 이후 학습에서도 마스크를 유지하며, 해당 가중치의 옵티마이저 상태도 0 으로 둠
+     */
+    public void prune(double sparsity) {
+        if (sparsity < 0.0 || sparsity >= 1.0) {
+            throw new IllegalArgumentException("sparsity 는 0 이상 1 미만이어야 합니다. sparsity=" + sparsity);
+        }
+        flushSparse();
+        if (pruned == null) {
+            pruned = new boolean[weights.length];
+        }
+
+        int target = (int) Math.round(sparsity * weights.length);
+        double[] magnitudes = new double[weights.length];
+        for (int k = 0; k < weights.length; k++) {
+            magnitudes[k] = pruned[k] ? -1.0 : Math.abs(weights[k]);
+        }
+        double[] sorted = magnitudes.clone();
+        Arrays.sort(sorted);
+        double threshold = target > 0 ? sorted[target - 1] : -1.0;
+
+        // threshold 보다 작은 것을 먼저 자르고, 같은 값은 남은 개수만큼 앞에서부터 자름
+        int count = 0;
+        for (int k = 0; k < weights.length; k++) {
+            if (magnitudes[k] < threshold) {
+                pruned[k] = true;
+                count++;
+            }
+        }
+        for (int k = 0; k < weights.length && count < target; k++) {
+            if (!pruned[k] && magnitudes[k] == threshold) {
+                pruned[k] = true;
+                count++;
+            }
+        }
+        applyMask();
+        markModified();
+    }
+
+    /**
+     * 가지치기 마스크 해제 (0 이 된 가중치는 이후 학습에서 다시 자랄 수 있음)
+     */
+    public void clearPruning() {
+        pruned = null;
+        markModified();
+    }
+
+    /**
+     * 0 인 가중치 비율
+     */
+    public double sparsity() {
+        flushSparse();
+        int zeros = 0;
+        for (double w : weights) {
+            if (w == 0.0) {
+                zeros++;
+            }
+        }
+        return (double) zeros / weights.length;
+    }
+
+    // 가지친 가중치와 그 옵티마이저 상태를 다시 0 으로
+    private void applyMask() {
+        if (pruned == null) {
+            return;
+        }
+        for (int k = 0; k < weights.length; k++) {
+            if (pruned[k]) {
+                clearWeight(k);
+            }
+        }
+    }
+
+    // 희소 갱신에서 건드린 열만 마스크 적용
+    private void applyMask(int[] columns, int count) {
+        if (pruned == null) {
+            return;
+        }
+        for (int o = 0; o < outputSize; o++) {
+            int base = o * inputSize;
+            for (int k = 0; k < count; k++) {
+                if (pruned[base + columns[k]]) {
+                    clearWeight(base + columns[k]);
+                }
+            }
+        }
+    }
+
+    private void clearWeight(int index) {
+        weights[index] = 0.0;
+        if (stateW != null) {
+            for (double[] slot : stateW) {
+                slot[index] = 0.0;
+            }
+        }
+    }
+
+    private void ensureOptimizerState() {
+        if (stateW == null) {
+            int slots = optimizer.stateSlots();
+            stateW = new double[slots][weights.length];
+            stateB = new double[slots][outputSize];
+        }
+    }
+
+    private static double dot(double[] a, int aOffset, double[] b, int bOffset, int length) {
+        return KERNELS.dot(a, aOffset, b, bOffset, length);
+    }
+
+    // 변환/직렬화용 내부 배열 접근 (복사하지 않음, 값을 바꾸면 markModified() 호출)
+    double[] weightArray() {
+        flushSparse();
+        return weights;
+    }
+
+    double[] biasArray() {
+        return biases;
+    }
+
+    // 모멘텀 속도 (MomentumOptimizer 가 아니면 null)
+    double[] velocityWArray() {
+        if (!(optimizer instanceof MomentumOptimizer)) {
+            return null;
+        }
+        flushSparse();
+        ensureOptimizerState();
+        return stateW[0];
+    }
+
+    double[] velocityBArray() {
+        if (!(optimizer instanceof MomentumOptimizer)) {
+            return null;
+        }
+        flushSparse();
+        ensureOptimizerState();
+        return stateB[0];
+    }
+
+    // 옵티마이저 상태 [slot][index] (직렬화용, 아직 없으면 0 으로 할당)
+    double[][] optimizerStateW() {
+        flushSparse();
+        ensureOptimizerState();
+        return stateW;
+    }
+
+    double[][] optimizerStateB() {
+        ensureOptimizerState();
+        return stateB;
+    }
+
+    // 갱신 횟수 (Adam 편향 보정용, 불러올 때 복원)
+    long getStep() {
+        return step;
+    }
+
+    void setStep(long step) {
+        flushSparse();
+        this.step = step;
+    }
+
+    /**
+     * 가중치와 바이어스의 L2 노름
+     */
+    public double weightNorm() {
+        flushSparse();
+        return Math.sqrt(sumOfSquares(weights) + sumOfSquares(biases));
+    }
+
+    /**
+     * 마지막 갱신에 사용한 (평균) 기울기의 L2 노름
+     * 샘플 단위 갱신의 가중치 기울기는 외적이므로 |gradNet| * |input| 으로 바로 계산
+     * 희소 미니배치 갱신은 갱신할 때 계산해 둔 값을 사용
+     */
+    public double gradientNorm() {
+        if (lastGradBatch > 0) {
+            return Math.sqrt(sumOfSquares(lastGradW) + sumOfSquares(lastGradB)) / lastGradBatch;
+        }
+        if (lastGradBatch < 0) {
+            return lastSparseGradNorm;
+        }
+        double net = sumOfSquares(sampleGradNet);
+        double input = lastSparseInput != null ? lastSparseInput.squaredNorm() : sumOfSquares(lastInput);
+        return Math.sqrt(net * input + net);
+    }
+
+    private static double sumOfSquares(double[] values) {
+        return dot(values, 0, values, 0, values.length);
+    }
+
+    /**
+     * 파라미터 버전 (가중치 갱신마다 증가)
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * 파라미터가 바뀌었음을 알림
+     * weightArray()/biasArray() 로 직접 쓴 뒤에는 반드시 호출해야 예측 캐시가 무효화됨
+     */
+    void markModified() {
+        version++;
+        AtomicLong network = networkVersion;
+        if (network != null) {
+            network.incrementAndGet();
+        }
+    }
+
+    void attachVersion(AtomicLong networkVersion) {
+        this.networkVersion = networkVersion;
+    }
+
+    public ActivationFunction getActivation() {
+        return activation;
+    }
+
+    /**
+     * 출력층의 활성화 미분을 손실 함수가 대신하는지 (NeuralNetwork 가 출력층을 바꿀 때 설정)
+     */
+    void setFusedOutput(boolean fusedOutput) {
+        this.fusedOutput = fusedOutput;
+    }
+
+    boolean isFusedOutput() {
+        return fusedOutput;
+    }
+
+    public double getLearningRate() {
+        return learningRate;
+    }
+
+    /**
+     * 모멘텀 계수 (MomentumOptimizer 가 아니면 0)
+     */
+    public double getMomentum() {
+        return optimizer instanceof MomentumOptimizer ? ((MomentumOptimizer) optimizer).getMomentum() : 0.0;
+    }
+
+    public Optimizer getOptimizer() {
+        return optimizer;
+    }
+
+    public int getInputSize() {
+        return inputSize;
+    }
+
+    public int getOutputSize() {
+        return outputSize;
     }
 
     public void setLearningRate(double learningRate) {
         this.learningRate = learningRate;
     }
 
+    /**
+     * 모멘텀 계수 변경 (0 이면 SGD)
+     * 이미 모멘텀 SGD 면 계수만 바꾸고 속도와 step 은 유지하므로 에폭 사이에 계수를 조절해도 됨
+     * SGD 와 모멘텀 사이를 오가거나 다른 옵티마이저에서 바꿀 때만 상태를 버림
+     */
     public void setMomentum(double momentum) {
-        this.momentum = momentum;
+        if (momentum != 0.0 && optimizer.getClass() == MomentumOptimizer.class) {
+            // 밀린 열은 이전 계수로 따라잡은 뒤 교체
+            flushSparse();
+            optimizer = new MomentumOptimizer(momentum, ((MomentumOptimizer) optimizer).isNesterov());
+            return;
+        }
+        if (momentum == 0.0 && optimizer.getClass() == SgdOptimizer.class) {
+            return;
+        }
+        setOptimizer(momentumOptimizer(momentum));
+    }
+
+    /**
+     * 갱신 규칙 교체 (기존 상태는 버리고 다음 갱신 때 새로 할당)
+     */
+    public void setOptimizer(Optimizer optimizer) {
+        flushSparse();
+        this.optimizer = optimizer;
+        this.stateW = null;
+        this.stateB = null;
+        this.step = 0;
     }
 }
 
@@ -0,0 +1,89 @@
+import java.util.List;
+
+/**
+ * 에폭 단위 학습 지표
+ * 가중치/기울기 노름은 호출 시점의 레이어 상태로 계산하므로 onEpochEnd 안에서만 의미가 있음
+ */
+public class EpochStats {
+
+    private final int epoch;
+    private final int totalEpochs;
+    private final double averageLoss;
+    private final long samples;
+    private final long elapsedNanos;
+    private final long[] forwardNanos;
+    private final long[] backwardNanos;
+    private final List<DenseLayer> layers;
+
+    EpochStats(int epoch, int totalEpochs, double averageLoss, long samples, long elapsedNanos,
+               long[] forwardNanos, long[] backwardNanos, List<DenseLayer> layers) {
+        this.epoch = epoch;
+        this.totalEpochs = totalEpochs;
+        this.averageLoss = averageLoss;
+        this.samples = samples;
+        this.elapsedNanos = elapsedNanos;
+        this.forwardNanos = forwardNanos;
+        this.backwardNanos = backwardNanos;
+        this.layers = layers;
+    }
+
+    public int getEpoch() {
+        return epoch;
+    }
+
+    public int getTotalEpochs() {
+        return totalEpochs;
+    }
+
+    public boolean isLastEpoch() {
+        return epoch == totalEpochs;
+    }
+
+    public double getAverageLoss() {
+        return averageLoss;
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getSamplesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : samples * 1e9 / elapsedNanos;
+    }
+
+    public int getLayerCount() {
+        return layers.size();
+    }
+
+    /**
+     * 레이어별 순전파 누적 시간 (측정하지 않았으면 -1)
+     */
+    public long getForwardNanos(int layerIndex) {
+        return forwardNanos == null ? -1 : forwardNanos[layerIndex];
+    }
+
+    /**
+     * 레이어별 역전파 누적 시간 (측정하지 않았으면 -1)
+     */
+    public long getBackwardNanos(int layerIndex) {
+        return backwardNanos == null ? -1 : backwardNanos[layerIndex];
+    }
+
+    /**
+     * 가중치와 바이어스의 L2 노름
+     */
+    public double getWeightNorm(int layerIndex) {
+        return layers.get(layerIndex).weightNorm();
+    }
+
+    /**
+     * 마지막 갱신에 사용한 기울기의 L2 노름
+     */
+    public double getGradientNorm(int layerIndex) {
+        return layers.get(layerIndex).gradientNorm();
+    }
+}
@@ -0,0 +1,217 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * float32 완전연결 레이어
+ * 가중치, 모멘텀, 활성화 값을 모두 float 로 저장해 메모리를 DenseLayer 의 절반만 사용
+ * 활성화 함수는 double 배열 API 를 쓰므로 출력 크기만큼의 double 작업 버퍼를 둠
+ * 갱신 규칙은 SGD 와 (nesterov 가 아닌) 모멘텀만 지원
+ */
+public class FloatDenseLayer {
+
+    private static final DenseKernels KERNELS = DenseKernels.load();
+
+    private final int inputSize;
+    private final int outputSize;
+
+    // 가중치는 출력 뉴런 단위로 연속 저장: weights[o * inputSize + i]
+    private final float[] weights;
+    private final float[] biases;
+
+    // 모멘텀이 0 이면 null (모멘텀을 켜고 첫 역전파 때 할당)
+    private float[] velocityW;
+    private float[] velocityB;
+
+    private final ActivationFunction activation;
+    private float learningRate;
+    private float momentum;
+
+    // 손실 함수와 합쳐진 출력층이면 gradOutput 이 이미 net 입력에 대한 기울기
+    private boolean fusedOutput;
+
+    // 역전파를 위한 캐시 (활성화 결과는 double 로 보관해 배열 단위 도함수에 그대로 넘김)
+    private final float[] lastInput;
+    private final double[] lastOutput;
+    private final double[] gradNet;
+
+    // 추론 전용 스레드별 net 버퍼
+    private final ThreadLocal<double[]> inferenceNet;
+
+    public FloatDenseLayer(int inputSize,
+                           int outputSize,
+                           ActivationFunction activation,
+                           float learningRate,
+                           float momentum) {
+        this.inputSize = inputSize;
+        this.outputSize = outputSize;
+        this.activation = activation;
+        this.learningRate = learningRate;
+        this.momentum = momentum;
+
+        this.weights = new float[outputSize * inputSize];
+        this.biases = new float[outputSize];
+
+        this.lastInput = new float[inputSize];
+        this.lastOutput = new double[outputSize];
+        this.gradNet = new double[outputSize];
+        this.inferenceNet = ThreadLocal.withInitial(() -> new double[outputSize]);
+
+        Random random = new Random();
+        float range = (float) Math.sqrt(6.0 / (inputSize + outputSize));
+        for (int k = 0; k < weights.length; k++) {
+            weights[k] = (random.nextFloat() * 2.0f - 1.0f) * range;
+        }
+    }
+
+    /**
+     * double 레이어를 float 로 변환 (모멘텀 상태 포함)
+     * float 로 옮길 수 없는 갱신 규칙(Adam, RMSProp, nesterov 모멘텀 등)이면 예외
+     */
+    public static FloatDenseLayer from(DenseLayer layer) {
+        Optimizer optimizer = layer.getOptimizer();
+        boolean supported = optimizer instanceof SgdOptimizer
+                || (optimizer instanceof MomentumOptimizer && !((MomentumOptimizer) optimizer).isNesterov());
+        if (!supported) {
+            throw new IllegalArgumentException("float 레이어는 SGD/모멘텀 갱신만 지원합니다. optimizer="
+                    + optimizer.getClass().getSimpleName());
+        }
+        FloatDenseLayer converted = new FloatDenseLayer(layer.getInputSize(), layer.getOutputSize(),
+                layer.getActivation(), (float) layer.getLearningRate(), (float) layer.getMomentum());
+        copy(layer.weightArray(), converted.weights);
+        copy(layer.biasArray(), converted.biases);
+        if (layer.velocityWArray() != null) {
+            converted.ensureVelocity();
+            copy(layer.velocityWArray(), converted.velocityW);
+            copy(layer.velocityBArray(), converted.velocityB);
+        }
+        return converted;
+    }
+
+    private static void copy(double[] src, float[] dst) {
+        for (int k = 0; k < src.length; k++) {
+            dst[k] = (float) src[k];
+        }
+    }
+
+    /**
+     * 순전파 (역전파 캐시 저장)
+     */
+    public void forward(float[] input, float[] out) {
+        checkSizes(input, out);
+        System.arraycopy(input, 0, lastInput, 0, inputSize);
+        compute(lastInput, lastOutput, out);
+    }
+
+    /**
+     * 추론 전용 순전파
+     * 가중치만 읽으므로 여러 스레드에서 동시에 호출할 수 있음
+     */
+    public void infer(float[] input, float[] out) {
+        checkSizes(input, out);
+        compute(input, inferenceNet.get(), out);
+    }
+
+    /**
+     * net 값을 double 버퍼에 모아 배열 단위로 활성화한 뒤 float 로 변환
+     */
+    private void compute(float[] input, double[] net, float[] out) {
+        for (int o = 0; o < outputSize; o++) {
+            net[o] = biases[o] + KERNELS.dot(weights, o * inputSize, input, 0, inputSize);
+        }
+        activation.activate(net, net, outputSize);
+        for (int o = 0; o < outputSize; o++) {
+            out[o] = (float) net[o];
+        }
+    }
+
+    private void checkSizes(float[] input, float[] out) {
+        if (input.length != inputSize) {
+            throw new IllegalArgumentException("입력 크기가 잘못되었습니다. expected="
+                    + inputSize + ", actual=" + input.length);
+        }
+        if (out.length < outputSize) {
+            throw new IllegalArgumentException("출력 크기가 잘못되었습니다. expected="
+                    + outputSize + ", actual=" + out.length);
+        }
+    }
+
+    /**
+     * 역전파
+     * gradInput 이 null 이면 입력에 대한 기울기는 계산하지 않음 (첫 번째 레이어)
+     */
+    public void backward(float[] gradOutput, float[] gradInput) {
+        if (gradOutput.length != outputSize) {
+            throw new IllegalArgumentException("gradOutput 크기가 잘못되었습니다.");
+        }
+        if (gradInput != null) {
+            if (gradInput.length != inputSize) {
+                throw new IllegalArgumentException("gradInput 크기가 잘못되었습니다.");
+            }
+            Arrays.fill(gradInput, 0.0f);
+        }
+
+        // 활성화 미분
+        for (int o = 0; o < outputSize; o++) {
+            gradNet[o] = gradOutput[o];
+        }
+        if (!fusedOutput) {
+            activation.derivativeInPlace(lastOutput, gradNet, outputSize);
+        }
+
+        if (momentum != 0.0f) {
+            ensureVelocity();
+        }
+        for (int o = 0; o < outputSize; o++) {
+            float g = (float) gradNet[o];
+
+            int base = o * inputSize;
+            if (gradInput != null) {
+                KERNELS.axpy(g, weights, base, gradInput, 0, inputSize);
+            }
+            if (momentum == 0.0f) {
+                KERNELS.axpy(-learningRate * g, lastInput, 0, weights, base, inputSize);
+                biases[o] -= learningRate * g;
+            } else {
+                KERNELS.momentumUpdate(weights, velocityW, base, lastInput, 0, inputSize,
+                        momentum, learningRate * g);
+                velocityB[o] = momentum * velocityB[o] - learningRate * g;
+                biases[o] += velocityB[o];
+            }
+        }
+    }
+
+    private void ensureVelocity() {
+        if (velocityW == null) {
+            velocityW = new float[outputSize * inputSize];
+            velocityB = new float[outputSize];
+        }
+    }
+
+    void setFusedOutput(boolean fusedOutput) {
+        this.fusedOutput = fusedOutput;
+    }
+
+    boolean isFusedOutput() {
+        return fusedOutput;
+    }
+
+    public ActivationFunction getActivation() {
+        return activation;
+    }
+
+    public int getInputSize() {
+        return inputSize;
+    }
+
+    public int getOutputSize() {
+        return outputSize;
+    }
+
+    public void setLearningRate(float learningRate) {
+        this.learningRate = learningRate;
+    }
+
+    public void setMomentum(float momentum) {
+        this.momentum = momentum;
+    }
+}
@@ -0,0 +1,198 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * float32 신경망
+ * NeuralNetwork.toFloat() 로 double 학습 결과를 서빙용으로 변환하거나 직접 학습할 수 있음
+ */
+public class FloatNeuralNetwork {
+
+    private final List<FloatDenseLayer> layers = new ArrayList<>();
+    private final LossFunction lossFunction;
+
+    // 학습용 작업 버퍼: outputs[k] 는 k 번째 레이어 출력, grads[k] 는 k 번째 레이어 입력 기울기
+    private float[][] outputs;
+    private float[][] grads;
+
+    // 손실 함수는 double 기반이므로 변환용 버퍼
+    private double[] lossTarget;
+    private double[] lossOutput;
+    private double[] lossGrad;
+
+    // 학습 진행 리스너 (없으면 학습 루프에서 측정/출력을 하지 않음)
+    private TrainingListener listener;
+
+    // 추론 전용 스레드별 중간 버퍼
+    private ThreadLocal<float[][]> inferenceScratch = ThreadLocal.withInitial(this::newInferenceScratch);
+
+    public FloatNeuralNetwork(LossFunction lossFunction) {
+        this.lossFunction = lossFunction;
+    }
+
+    /**
+     * 학습 리스너 설정 (에폭 손실과 처리량만 전달, 레이어별 지표는 없음)
+     */
+    public void setTrainingListener(TrainingListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * 레이어 추가 (소프트맥스처럼 원소 단위가 아닌 활성화 함수 뒤에는 레이어를 더 붙일 수 없음)
+     */
+    public void addLayer(FloatDenseLayer layer) {
+        if (!layers.isEmpty()) {
+            NeuralNetwork.checkHiddenActivation(layers.get(layers.size() - 1).getActivation());
+            // 출력층이 바뀌므로 손실 함수와 합쳐지는지 다시 판단
+            layers.get(layers.size() - 1).setFusedOutput(false);
+        }
+        layer.setFusedOutput(FusedLoss.fuses(lossFunction, layer.getActivation()));
+        layers.add(layer);
+        outputs = null;
+        grads = null;
+        inferenceScratch = ThreadLocal.withInitial(this::newInferenceScratch);
+    }
+
+    /**
+     * 추론
+     * 여러 스레드에서 동시에 호출할 수 있음
+     */
+    public float[] predict(float[] input) {
+        float[] output = new float[layers.get(layers.size() - 1).getOutputSize()];
+        predict(input, output);
+        return output;
+    }
+
+    public void predict(float[] input, float[] out) {
+        float[][] scratch = inferenceScratch.get();
+        float[] x = input;
+        int last = layers.size() - 1;
+        for (int k = 0; k < last; k++) {
+            layers.get(k).infer(x, scratch[k]);
+            x = scratch[k];
+        }
+        layers.get(last).infer(x, out);
+    }
+
+    /**
+     * double 입력으로 추론 (double 모델과 비교용)
+     */
+    public double[] predict(double[] input) {
+        float[] x = new float[input.length];
+        for (int i = 0; i < input.length; i++) {
+            x[i] = (float) input[i];
+        }
+        float[] y = predict(x);
+        double[] output = new double[y.length];
+        for (int o = 0; o < y.length; o++) {
+            output[o] = y[o];
+        }
+        return output;
+    }
+
+    private float[][] newInferenceScratch() {
+        float[][] scratch = new float[layers.size()][];
+        for (int k = 0; k < layers.size(); k++) {
+            scratch[k] = new float[layers.get(k).getOutputSize()];
+        }
+        return scratch;
+    }
+
+    public void train(float[][] inputs, float[][] targets, int epochs) {
+        if (inputs.length != targets.length) {
+            throw new IllegalArgumentException("입력 샘플 수와 타깃 샘플 수가 다릅니다.");
+        }
+
+        int nSamples = inputs.length;
+
+        for (int epoch = 1; epoch <= epochs; epoch++) {
+            long startNanos = listener != null ? System.nanoTime() : 0L;
+            double totalLoss = 0.0;
+
+            for (int n = 0; n < nSamples; n++) {
+                totalLoss += trainSample(inputs[n], targets[n]);
+            }
+
+            if (listener != null) {
+                listener.onEpochEnd(new EpochStats(epoch, epochs, totalLoss / nSamples, nSamples,
+                        System.nanoTime() - startNanos, null, null, Collections.emptyList()));
+            }
+        }
+    }
+
+    /**
+     * 샘플 하나로 순전파/역전파 후 손실 반환
+     */
+    double trainSample(float[] x, float[] t) {
+        ensureWorkspace();
+        int last = layers.size() - 1;
+
+        // 순전파
+        float[] in = x;
+        for (int k = 0; k <= last; k++) {
+            layers.get(k).forward(in, outputs[k]);
+            in = outputs[k];
+        }
+
+        // 손실 계산과 출력 기울기 (double 손실 함수 사용)
+        float[] y = outputs[last];
+        for (int o = 0; o < y.length; o++) {
+            lossTarget[o] = t[o];
+            lossOutput[o] = y[o];
+        }
+        double loss = lossFunction.loss(lossTarget, lossOutput);
+        if (layers.get(last).isFusedOutput()) {
+            ((FusedLoss) lossFunction).fusedDerivative(lossTarget, lossOutput, lossGrad);
+        } else {
+            lossFunction.derivative(lossTarget, lossOutput, lossGrad);
+        }
+        float[] gradOut = grads[last + 1];
+        for (int o = 0; o < gradOut.length; o++) {
+            gradOut[o] = (float) lossGrad[o];
+        }
+
+        // 역전파
+        for (int k = last; k >= 0; k--) {
+            layers.get(k).backward(grads[k + 1], k > 0 ? grads[k] : null);
+        }
+
+        return loss;
+    }
+
+    private void ensureWorkspace() {
+        if (outputs != null) {
+            return;
+        }
+        if (layers.isEmpty()) {
+            throw new IllegalStateException("레이어가 없습니다.");
+        }
+        outputs = new float[layers.size()][];
+        grads = new float[layers.size() + 1][];
+        for (int k = 0; k < layers.size(); k++) {
+            FloatDenseLayer layer = layers.get(k);
+            outputs[k] = new float[layer.getOutputSize()];
+            grads[k] = new float[layer.getInputSize()];
+        }
+        int outputSize = layers.get(layers.size() - 1).getOutputSize();
+        grads[layers.size()] = new float[outputSize];
+        lossTarget = new double[outputSize];
+        lossOutput = new double[outputSize];
+        lossGrad = new double[outputSize];
+    }
+
+    /**
+     * double 모델 대비 최대 절대 오차
+     * 같은 입력에 대해 두 모델의 출력을 비교해 float 변환의 정확도 손실을 측정
+     */
+    public static double maxAbsError(NeuralNetwork reference, FloatNeuralNetwork converted, double[][] inputs) {
+        double maxError = 0.0;
+        for (double[] x : inputs) {
+            double[] expected = reference.predict(x);
+            double[] actual = converted.predict(x);
+            for (int o = 0; o < expected.length; o++) {
+                maxError = Math.max(maxError, Math.abs(expected[o] - actual[o]));
+            }
+        }
+        return maxError;
+    }
+}
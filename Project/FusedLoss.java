@@ -0,0 +1,23 @@
+/**
+ * 출력층 활성화와 합쳐서 net 입력에 대한 기울기를 바로 계산할 수 있는 손실 함수
+ * 네트워크는 fusesWith 가 true 인 출력층에서만 fusedDerivative 를 호출하고 그 층의 활성화 미분을 건너뜀
+ */
+public interface FusedLoss extends LossFunction {
+
+    /**
+     * 출력층 활성화와 합쳐지는지
+     */
+    boolean fusesWith(ActivationFunction outputActivation);
+
+    /**
+     * 출력층 net 입력에 대한 기울기 (fusesWith 가 true 인 활성화에서만 호출)
+     */
+    void fusedDerivative(double[] target, double[] output, double[] gradNet);
+
+    /**
+     * lossFunction 이 FusedLoss 이고 outputActivation 과 합쳐지면 true
+     */
+    static boolean fuses(LossFunction lossFunction, ActivationFunction outputActivation) {
+        return lossFunction instanceof FusedLoss && ((FusedLoss) lossFunction).fusesWith(outputActivation);
+    }
+}
@@ -0,0 +1,237 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 하이퍼파라미터 병렬 탐색
+ * 후보마다 독립된 네트워크를 만들어 스레드 풀에서 동시에 학습하고 평가 손실 순으로 정렬
+ * 동시에 학습하는 후보 수는 threads 로 제한 (후보 하나는 스레드 하나만 사용)
+ *
+ * 연속 반감(successive halving)을 켜면 minEpochs 만큼 학습한 뒤 상위 1/eta 만 남기고,
+ * 남은 후보는 누적 에폭이 eta 배가 될 때까지 이어서 학습하기를 maxEpochs 까지 반복
+ *
+ * 예: HyperparameterSearch.of(inputs, targets).maxEpochs(20000).successiveHalving(500, 3)
+ *         .run(HyperparameterSpace.create().learningRates(0.1, 0.5, 1.0).hiddenLayers(new int[]{4}).grid(42))
+ */
+public class HyperparameterSearch {
+
+    private final double[][] inputs;
+    private final double[][] targets;
+
+    private ActivationFunction activation = new SigmoidActivation();
+    private LossFunction lossFunction = new MeanSquaredError();
+    private double[][] validationInputs;
+    private double[][] validationTargets;
+
+    private int maxEpochs = 1000;
+    private double targetLoss = Double.NEGATIVE_INFINITY;
+    private int batchSize;
+    private int minEpochs;
+    private int eta;
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    private HyperparameterSearch(double[][] inputs, double[][] targets) {
+        if (inputs.length != targets.length || inputs.length == 0) {
+            throw new IllegalArgumentException("입력 샘플 수와 타깃 샘플 수가 다르거나 비어 있습니다.");
+        }
+        this.inputs = inputs;
+        this.targets = targets;
+    }
+
+    public static HyperparameterSearch of(double[][] inputs, double[][] targets) {
+        return new HyperparameterSearch(inputs, targets);
+    }
+
+    /**
+     * 모든 레이어에 쓸 활성화 함수 (기본 시그모이드, 후보 사이에 공유되므로 상태가 없어야 함)
+     */
+    public HyperparameterSearch activation(ActivationFunction activation) {
+        this.activation = activation;
+        return this;
+    }
+
+    public HyperparameterSearch lossFunction(LossFunction lossFunction) {
+        this.lossFunction = lossFunction;
+        return this;
+    }
+
+    /**
+     * 후보를 검증 데이터 손실로 평가 (지정하지 않으면 학습 데이터 손실)
+     */
+    public HyperparameterSearch validation(double[][] inputs, double[][] targets) {
+        if (inputs.length != targets.length || inputs.length == 0) {
+            throw new IllegalArgumentException("검증 데이터가 잘못되었습니다.");
+        }
+        this.validationInputs = inputs;
+        this.validationTargets = targets;
+        return this;
+    }
+
+    public HyperparameterSearch maxEpochs(int maxEpochs) {
+        if (maxEpochs <= 0) {
+            throw new IllegalArgumentException("최대 에폭 수는 1 이상이어야 합니다. maxEpochs=" + maxEpochs);
+        }
+        this.maxEpochs = maxEpochs;
+        return this;
+    }
+
+    /**
+     * 에폭 평균 학습 손실이 targetLoss 이하가 된 후보는 더 학습하지 않음
+     */
+    public HyperparameterSearch targetLoss(double targetLoss) {
+        this.targetLoss = targetLoss;
+        return this;
+    }
+
+    /**
+     * 미니배치 학습 (0 이면 샘플 단위 학습)
+     */
+    public HyperparameterSearch batchSize(int batchSize) {
+        if (batchSize < 0) {
+            throw new IllegalArgumentException("배치 크기는 0 이상이어야 합니다. batchSize=" + batchSize);
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    public HyperparameterSearch successiveHalving(int minEpochs, int eta) {
+        if (minEpochs <= 0) {
+            throw new IllegalArgumentException("최소 에폭 수는 1 이상이어야 합니다. minEpochs=" + minEpochs);
+        }
+        if (eta < 2) {
+            throw new IllegalArgumentException("eta 는 2 이상이어야 합니다. eta=" + eta);
+        }
+        this.minEpochs = minEpochs;
+        this.eta = eta;
+        return this;
+    }
+
+    /**
+     * 동시에 학습할 후보 수 (기본값은 사용 가능한 코어 수)
+     */
+    public HyperparameterSearch threads(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("스레드 수는 1 이상이어야 합니다. threads=" + threads);
+        }
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * threads 개의 스레드 풀을 만들어 탐색하고 끝나면 종료
+     */
+    public List<TrialResult> run(List<TrialConfig> configs) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "nn-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            return run(configs, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 주어진 executor 에서 탐색 (동시 실행 수는 executor 가 결정)
+     * 결과는 많이 살아남은 순, 같은 단계 안에서는 평가 손실 순 (첫 번째가 최적)
+     */
+    public List<TrialResult> run(List<TrialConfig> configs, ExecutorService executor) {
+        if (configs.isEmpty()) {
+            throw new IllegalArgumentException("후보 설정이 없습니다.");
+        }
+
+        int inputSize = inputs[0].length;
+        int outputSize = targets[0].length;
+
+        List<TrialResult> trials = new ArrayList<>(configs.size());
+        for (TrialConfig config : configs) {
+            trials.add(new TrialResult(config, config.build(inputSize, outputSize, activation, lossFunction)));
+        }
+
+        Comparator<TrialResult> ranking = Comparator
+                .comparingInt(TrialResult::getRungs).reversed()
+                .thenComparingDouble(TrialResult::getScore);
+
+        List<TrialResult> alive = new ArrayList<>(trials);
+        int budget = eta > 0 ? Math.min(minEpochs, maxEpochs) : maxEpochs;
+        int trained = 0;
+
+        while (true) {
+            int rungEpochs = budget - trained;
+            List<Callable<Void>> tasks = new ArrayList<>(alive.size());
+            for (TrialResult trial : alive) {
+                tasks.add(() -> {
+                    runTrial(trial, rungEpochs);
+                    return null;
+                });
+            }
+            invokeAll(executor, tasks);
+            trained = budget;
+
+            alive.sort(ranking);
+            if (eta == 0 || budget >= maxEpochs || alive.size() <= 1) {
+                break;
+            }
+
+            // 상위 1/eta 만 다음 단계로
+            alive = new ArrayList<>(alive.subList(0, Math.max(1, alive.size() / eta)));
+            budget = (int) Math.min(maxEpochs, (long) budget * eta);
+        }
+
+        trials.sort(ranking);
+        return trials;
+    }
+
+    private void runTrial(TrialResult trial, int epochs) {
+        NeuralNetwork nn = trial.getNetwork();
+        TrainingResult result;
+        if (trial.isConverged()) {
+            // 이미 목표 손실에 도달한 후보는 점수만 유지한 채 다음 단계로 넘김
+            result = new TrainingResult(TrainingResult.StopReason.TARGET_LOSS, 0,
+                    trial.getLastResult().getFinalLoss(), Double.NaN, 0L);
+        } else {
+            StoppingCriteria criteria = StoppingCriteria.maxEpochs(epochs).targetLoss(targetLoss);
+            result = batchSize > 0
+                    ? nn.train(inputs, targets, criteria, batchSize)
+                    : nn.train(inputs, targets, criteria);
+        }
+
+        double score = validationInputs != null
+                ? meanLoss(nn, validationInputs, validationTargets)
+                : meanLoss(nn, inputs, targets);
+        trial.record(result, score);
+    }
+
+    /**
+     * 추론 경로로 계산한 평균 손실 (발산한 후보는 NaN 이 되어 순위 맨 뒤로)
+     */
+    private double meanLoss(NeuralNetwork nn, double[][] xs, double[][] ts) {
+        double[] output = new double[ts[0].length];
+        double total = 0.0;
+        for (int n = 0; n < xs.length; n++) {
+            nn.predict(xs[n], output);
+            total += lossFunction.loss(ts[n], output);
+        }
+        return total / xs.length;
+    }
+
+    private static void invokeAll(ExecutorService executor, List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("하이퍼파라미터 탐색이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("하이퍼파라미터 탐색 중 오류가 발생했습니다.", e.getCause());
+        }
+    }
+}
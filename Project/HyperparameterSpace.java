@@ -0,0 +1,145 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 하이퍼파라미터 탐색 공간 (학습률, 모멘텀, 은닉층 구성)
+ * 값 목록은 그리드/랜덤 탐색 모두에 쓰이고, 범위는 랜덤 탐색에서만 쓰임
+ *
+ * 예: HyperparameterSpace.create().learningRates(0.1, 0.5, 1.0).momenta(0.0, 0.9).hiddenLayers(new int[]{4})
+ */
+public class HyperparameterSpace {
+
+    private double[] learningRates;
+    private double learningRateMin = Double.NaN;
+    private double learningRateMax = Double.NaN;
+
+    private double[] momenta = {0.0};
+    private double momentumMin = Double.NaN;
+    private double momentumMax = Double.NaN;
+
+    private final List<int[]> hiddenLayers = new ArrayList<>();
+
+    private HyperparameterSpace() {
+    }
+
+    public static HyperparameterSpace create() {
+        return new HyperparameterSpace();
+    }
+
+    public HyperparameterSpace learningRates(double... values) {
+        requireValues(values, "learningRates");
+        this.learningRates = values.clone();
+        this.learningRateMin = Double.NaN;
+        this.learningRateMax = Double.NaN;
+        return this;
+    }
+
+    /**
+     * 랜덤 탐색용 학습률 범위 (로그 균등 분포)
+     */
+    public HyperparameterSpace learningRateRange(double min, double max) {
+        if (!(min > 0.0) || !(max >= min)) {
+            throw new IllegalArgumentException("학습률 범위가 잘못되었습니다. min=" + min + ", max=" + max);
+        }
+        this.learningRateMin = min;
+        this.learningRateMax = max;
+        this.learningRates = null;
+        return this;
+    }
+
+    public HyperparameterSpace momenta(double... values) {
+        requireValues(values, "momenta");
+        this.momenta = values.clone();
+        this.momentumMin = Double.NaN;
+        this.momentumMax = Double.NaN;
+        return this;
+    }
+
+    /**
+     * 랜덤 탐색용 모멘텀 범위 (균등 분포)
+     */
+    public HyperparameterSpace momentumRange(double min, double max) {
+        if (min < 0.0 || max >= 1.0 || max < min) {
+            throw new IllegalArgumentException("모멘텀 범위가 잘못되었습니다. min=" + min + ", max=" + max);
+        }
+        this.momentumMin = min;
+        this.momentumMax = max;
+        this.momenta = null;
+        return this;
+    }
+
+    /**
+     * 후보 은닉층 구성 (배열 하나가 은닉층 크기 목록 하나, 빈 배열이면 은닉층 없음)
+     */
+    public HyperparameterSpace hiddenLayers(int[]... layouts) {
+        if (layouts.length == 0) {
+            throw new IllegalArgumentException("hiddenLayers 가 비어 있습니다.");
+        }
+        for (int[] layout : layouts) {
+            hiddenLayers.add(layout.clone());
+        }
+        return this;
+    }
+
+    /**
+     * 모든 값 목록의 조합 (후보마다 seed 에서 파생한 시드 부여)
+     */
+    public List<TrialConfig> grid(long seed) {
+        if (learningRates == null || momenta == null) {
+            throw new IllegalStateException("그리드 탐색에는 범위가 아닌 값 목록이 필요합니다.");
+        }
+        requireLayouts();
+
+        Random seeds = new Random(seed);
+        List<TrialConfig> configs = new ArrayList<>();
+        for (int[] layout : hiddenLayers) {
+            for (double lr : learningRates) {
+                for (double momentum : momenta) {
+                    configs.add(new TrialConfig(lr, momentum, layout, seeds.nextLong()));
+                }
+            }
+        }
+        return configs;
+    }
+
+    /**
+     * 무작위 후보 trials 개 (범위가 있으면 범위에서, 없으면 값 목록에서 추출)
+     */
+    public List<TrialConfig> random(int trials, long seed) {
+        if (trials <= 0) {
+            throw new IllegalArgumentException("후보 수는 1 이상이어야 합니다. trials=" + trials);
+        }
+        if (learningRates == null && Double.isNaN(learningRateMin)) {
+            throw new IllegalStateException("학습률 후보가 없습니다.");
+        }
+        requireLayouts();
+
+        Random random = new Random(seed);
+        List<TrialConfig> configs = new ArrayList<>(trials);
+        for (int t = 0; t < trials; t++) {
+            double lr = learningRates != null
+                    ? learningRates[random.nextInt(learningRates.length)]
+                    : Math.exp(Math.log(learningRateMin)
+                        + random.nextDouble() * (Math.log(learningRateMax) - Math.log(learningRateMin)));
+            double momentum = momenta != null
+                    ? momenta[random.nextInt(momenta.length)]
+                    : momentumMin + random.nextDouble() * (momentumMax - momentumMin);
+            int[] layout = hiddenLayers.get(random.nextInt(hiddenLayers.size()));
+            configs.add(new TrialConfig(lr, momentum, layout, random.nextLong()));
+        }
+        return configs;
+    }
+
+    private void requireLayouts() {
+        if (hiddenLayers.isEmpty()) {
+            throw new IllegalStateException("은닉층 구성 후보가 없습니다.");
+        }
+    }
+
+    private static void requireValues(double[] values, String name) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException(name + " 가 비어 있습니다.");
+        }
+    }
+}
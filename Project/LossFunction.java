@@ -8,4 +8,13 @@ public interface LossFunction {
      * 출력손실의 기울기
      */
     double[] derivative(double[] target, double[] output);
+
+    /**
+     * 출력손실의 기울기 (버퍼 재사용)
+     * 기본 구현은 기존 derivative 결과를 복사하므로, 구현체에서 재정의하면 할당을 없앨 수 있음
+     */
+    default void derivative(double[] target, double[] output, double[] grad) {
+        double[] g = derivative(target, output);
+        System.arraycopy(g, 0, grad, 0, g.length);
+    }
 }
@@ -0,0 +1,43 @@
+import java.util.List;
+
+/**
+ * 크기 기반 가지치기
+ * 한 번에 자르거나, sparsity 를 조금씩 올리며 자르고 NeuralNetwork.train 으로 미세 조정을 반복
+ * 자른 가중치는 DenseLayer 마스크로 미세 조정 중에도 0 으로 유지되며, 끝나면 toSparse() 로 CSR 추론 모델을 만듦
+ */
+public final class MagnitudePruning {
+
+    private MagnitudePruning() {
+    }
+
+    /**
+     * 모든 레이어를 sparsity 비율만큼 한 번에 가지치기
+     */
+    public static void prune(NeuralNetwork network, double sparsity) {
+        for (DenseLayer layer : network.getLayers()) {
+            layer.prune(sparsity);
+        }
+    }
+
+    /**
+     * 반복 가지치기
+     * rounds 번에 걸쳐 sparsity 를 finalSparsity 까지 올리고, 매번 epochsPerRound 에폭 미니배치 학습으로 미세 조정
+     * 초반에 많이 자르고 후반에 적게 자르는 3차 스케줄 사용: s_r = s * (1 - (1 - r / rounds)^3)
+     * (남은 가중치가 적을수록 한 번에 자를 때 손실이 커지므로)
+     */
+    public static void pruneIteratively(NeuralNetwork network, double[][] inputs, double[][] targets,
+                                        double finalSparsity, int rounds, int epochsPerRound, int batchSize) {
+        if (rounds <= 0) {
+            throw new IllegalArgumentException("rounds 는 1 이상이어야 합니다. rounds=" + rounds);
+        }
+        List<DenseLayer> layers = network.getLayers();
+        for (int r = 1; r <= rounds; r++) {
+            double remaining = 1.0 - (double) r / rounds;
+            double sparsity = finalSparsity * (1.0 - remaining * remaining * remaining);
+            for (DenseLayer layer : layers) {
+                layer.prune(sparsity);
+            }
+            network.train(inputs, targets, epochsPerRound, batchSize);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 메모리 매핑 바이너리 데이터셋
+ *
+ * 파일 구조 (리틀 엔디언)
+ *   헤더 24바이트: magic, version, inputSize, targetSize (int 4개), sampleCount (long)
+ *   샘플마다 input[inputSize], target[targetSize] (double)
+ *
+ * 파일 전체를 한 번에 매핑하지 않고 일정 크기의 창(window)만 매핑해 앞으로 옮겨 가므로
+ * 수십 GB 파일도 힙 사용량 없이 읽을 수 있음
+ */
+public class MappedSampleSource implements SampleSource {
+
+    private static final int MAGIC = 0x4E4E4453; // "NNDS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+
+    // 한 번에 매핑하는 최대 크기
+    private static final long WINDOW_BYTES = 256L << 20;
+
+    private final FileChannel channel;
+    private final int inputSize;
+    private final int targetSize;
+    private final long sampleCount;
+    private final int samplesPerWindow;
+
+    private DoubleBuffer window;
+    private long windowStart;
+    private long position;
+
+    public MappedSampleSource(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("데이터셋 파일 형식이 아닙니다.");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("지원하지 않는 데이터셋 버전입니다. version=" + version);
+            }
+            this.inputSize = header.getInt();
+            this.targetSize = header.getInt();
+            this.sampleCount = header.getLong();
+
+            long recordBytes = (long) (inputSize + targetSize) * Double.BYTES;
+            long expected = HEADER_BYTES + recordBytes * sampleCount;
+            if (inputSize <= 0 || targetSize <= 0 || channel.size() < expected) {
+                throw new IOException("데이터셋 파일이 잘렸습니다. expected=" + expected + ", actual=" + channel.size());
+            }
+            this.samplesPerWindow = (int) Math.max(1, WINDOW_BYTES / recordBytes);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 다른 SampleSource 의 샘플을 바이너리 데이터셋 파일로 저장 (예: CSV 를 한 번 변환)
+     */
+    public static long write(SampleSource source, Path path) throws IOException {
+        int inputSize = source.inputSize();
+        int targetSize = source.targetSize();
+        double[] input = new double[inputSize];
+        double[] target = new double[targetSize];
+
+        try (FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            int recordBytes = (inputSize + targetSize) * Double.BYTES;
+            if (recordBytes > buffer.capacity()) {
+                buffer = ByteBuffer.allocateDirect(recordBytes).order(ByteOrder.LITTLE_ENDIAN);
+            }
+
+            // 샘플 수는 마지막에 채움
+            out.position(HEADER_BYTES);
+            long count = 0;
+            source.reset();
+            while (source.next(input, target)) {
+                if (buffer.remaining() < recordBytes) {
+                    flush(out, buffer);
+                }
+                for (double v : input) {
+                    buffer.putDouble(v);
+                }
+                for (double v : target) {
+                    buffer.putDouble(v);
+                }
+                count++;
+            }
+            flush(out, buffer);
+
+            buffer.clear();
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(inputSize).putInt(targetSize).putLong(count);
+            buffer.flip();
+            long offset = 0;
+            while (buffer.hasRemaining()) {
+                offset += out.write(buffer, offset);
+            }
+            return count;
+        }
+    }
+
+    private static void flush(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public long size() {
+        return sampleCount;
+    }
+
+    @Override
+    public int inputSize() {
+        return inputSize;
+    }
+
+    @Override
+    public int targetSize() {
+        return targetSize;
+    }
+
+    @Override
+    public void reset() {
+        position = 0;
+    }
+
+    @Override
+    public boolean next(double[] input, double[] target) throws IOException {
+        if (position >= sampleCount) {
+            return false;
+        }
+        if (window == null || position < windowStart || position >= windowStart + samplesPerWindow) {
+            mapWindow(position);
+        }
+        int offset = (int) (position - windowStart) * (inputSize + targetSize);
+        window.get(offset, input, 0, inputSize);
+        window.get(offset + inputSize, target, 0, targetSize);
+        position++;
+        return true;
+    }
+
+    private void mapWindow(long first) throws IOException {
+        long recordBytes = (long) (inputSize + targetSize) * Double.BYTES;
+        long count = Math.min(samplesPerWindow, sampleCount - first);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + first * recordBytes, count * recordBytes)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .asDoubleBuffer();
+        windowStart = first;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+}
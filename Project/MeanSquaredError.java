@@ -19,9 +19,17 @@ public class MeanSquaredError implements LossFunction {
             throw new IllegalArgumentException("타깃과 출력의 길이가 다릅니다.");
         }
         double[] grad = new double[target.length];
+        derivative(target, output, grad);
+        return grad;
+    }
+
+    @Override
+    public void derivative(double[] target, double[] output, double[] grad) {
+        if (target.length != output.length || grad.length != output.length) {
+            throw new IllegalArgumentException("타깃과 출력의 길이가 다릅니다.");
+        }
         for (int i = 0; i < target.length; i++) {
             grad[i] = output[i] - target[i]; 
         }
-        return grad;
     }
 }
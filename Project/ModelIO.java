@@ -0,0 +1,427 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 신경망 바이너리 저장/불러오기
+ *
+ * 파일 구조 (리틀 엔디언, 모든 배열은 파일 내 64바이트 경계에서 시작하고 앞은 0 으로 채움)
+ *   헤더 48바이트: magic, version, flags, layerCount (int 4개), 손실 함수 id (32바이트)
+ *   레이어 정보 104바이트 x layerCount: inputSize, outputSize (int), learningRate (double),
+ *                                      옵티마이저 id (16바이트), 옵티마이저 하이퍼파라미터 (double 3개),
+ *                                      step (long), 활성화 함수 id (40바이트)
+ *   데이터: 레이어마다 weights[outputSize * inputSize], biases[outputSize]
+ *           flags 에 OPTIMIZER_STATE 가 있으면 이어서 옵티마이저 상태 슬롯별 stateW, 그다음 슬롯별 stateB
+ *           (슬롯 수는 Optimizer.stateSlots, 모멘텀이면 velocityW, velocityB)
+ *
+ * 옵티마이저 id 와 하이퍼파라미터
+ *   sgd: 없음 / momentum, nesterov: momentum / rmsprop: decay, epsilon / adam: beta1, beta2, epsilon
+ *   그 밖의 Optimizer (하위 클래스 포함) 는 표현할 수 없으므로 저장하지 않고 예외
+ *
+ * 불러올 때는 FileChannel.map 으로 매핑해 읽으므로 같은 호스트의 여러 프로세스가 페이지 캐시를 공유함
+ */
+public final class ModelIO {
+
+    private static final int MAGIC = 0x4E4E4D44; // "NNMD"
+    private static final int VERSION = 2;
+
+    private static final int OPTIMIZER_STATE = 1;
+
+    private static final int HEADER_BYTES = 48;
+    private static final int LOSS_ID_BYTES = 32;
+    private static final int LAYER_RECORD_BYTES = 104;
+    private static final int ACTIVATION_ID_BYTES = 40;
+    private static final int OPTIMIZER_ID_BYTES = 16;
+    private static final int OPTIMIZER_PARAMS = 3;
+
+    // 한 번에 매핑하는 최대 크기 (MappedByteBuffer 는 2GB 를 넘을 수 없음)
+    private static final long MAX_MAP_BYTES = 1L << 30;
+
+    private static final Map<String, Supplier<ActivationFunction>> ACTIVATIONS = new LinkedHashMap<>();
+    private static final Map<String, Supplier<LossFunction>> LOSSES = new LinkedHashMap<>();
+    private static final Map<Class<?>, String> IDS = new LinkedHashMap<>();
+
+    static {
+        registerActivation("sigmoid", SigmoidActivation.class, SigmoidActivation::new);
+        registerActivation("softmax", SoftmaxActivation.class, SoftmaxActivation::new);
+        registerLoss("mse", MeanSquaredError.class, MeanSquaredError::new);
+        registerLoss("cross_entropy", CrossEntropy.class, CrossEntropy::new);
+    }
+
+    private ModelIO() {
+    }
+
+    /**
+     * 활성화 함수 등록 (직접 만든 활성화 함수를 저장/불러오려면 먼저 등록)
+     */
+    public static synchronized void registerActivation(String id, Class<? extends ActivationFunction> type,
+                                                       Supplier<ActivationFunction> factory) {
+        checkId(id, ACTIVATION_ID_BYTES);
+        ACTIVATIONS.put(id, factory);
+        IDS.put(type, id);
+    }
+
+    /**
+     * 손실 함수 등록
+     */
+    public static synchronized void registerLoss(String id, Class<? extends LossFunction> type,
+                                                 Supplier<LossFunction> factory) {
+        checkId(id, LOSS_ID_BYTES);
+        LOSSES.put(id, factory);
+        IDS.put(type, id);
+    }
+
+    private static void checkId(String id, int maxBytes) {
+        if (id.isEmpty() || id.getBytes(StandardCharsets.UTF_8).length > maxBytes) {
+            throw new IllegalArgumentException("id 길이가 잘못되었습니다. id=" + id);
+        }
+    }
+
+    /**
+     * 모델 저장 (옵티마이저 상태 포함)
+     */
+    public static void save(NeuralNetwork network, Path path) throws IOException {
+        save(network, path, true);
+    }
+
+    /**
+     * 모델 저장
+     * includeOptimizerState 가 true 이면 옵티마이저 상태(모멘텀 속도, Adam 모멘트 등)와 step 도 저장해
+     * 불러온 뒤 이어서 학습하면 저장하지 않았을 때와 같은 결과가 나옴
+     * 파일 형식으로 표현할 수 없는 옵티마이저를 쓰는 레이어가 있으면 IllegalArgumentException (파일은 건드리지 않음)
+     */
+    public static void save(NeuralNetwork network, Path path, boolean includeOptimizerState) throws IOException {
+        List<DenseLayer> layers = network.getLayers();
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES + LAYER_RECORD_BYTES * layers.size())
+                .order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC);
+        header.putInt(VERSION);
+        header.putInt(includeOptimizerState ? OPTIMIZER_STATE : 0);
+        header.putInt(layers.size());
+        putId(header, idOf(network.getLossFunction()), LOSS_ID_BYTES);
+
+        for (DenseLayer layer : layers) {
+            header.putInt(layer.getInputSize());
+            header.putInt(layer.getOutputSize());
+            header.putDouble(layer.getLearningRate());
+            putOptimizer(header, layer.getOptimizer());
+            header.putLong(includeOptimizerState ? layer.getStep() : 0L);
+            putId(header, idOf(layer.getActivation()), ACTIVATION_ID_BYTES);
+        }
+        header.flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(channel, header);
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            long position = header.limit();
+            for (DenseLayer layer : layers) {
+                position = writeDoubles(channel, buffer, position, layer.weightArray());
+                position = writeDoubles(channel, buffer, position, layer.biasArray());
+                if (includeOptimizerState && layer.getOptimizer().stateSlots() > 0) {
+                    for (double[] slot : layer.optimizerStateW()) {
+                        position = writeDoubles(channel, buffer, position, slot);
+                    }
+                    for (double[] slot : layer.optimizerStateB()) {
+                        position = writeDoubles(channel, buffer, position, slot);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 모델 불러오기
+     * 저장된 옵티마이저 상태가 있으면 step 과 함께 복원
+     */
+    public static NeuralNetwork load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Layout layout = readLayout(channel);
+            NeuralNetwork network = new NeuralNetwork(layout.lossFunction);
+
+            for (LayerInfo info : layout.layers) {
+                DenseLayer layer = DenseLayer.uninitialized(info.inputSize, info.outputSize,
+                        info.activation, info.learningRate, info.optimizer);
+
+                readDoubles(channel, info.weightOffset, layer.weightArray());
+                readDoubles(channel, info.biasOffset, layer.biasArray());
+                if (info.stateWOffset >= 0 && info.optimizer.stateSlots() > 0) {
+                    double[][] stateW = layer.optimizerStateW();
+                    double[][] stateB = layer.optimizerStateB();
+                    for (int slot = 0; slot < stateW.length; slot++) {
+                        readDoubles(channel, info.stateWOffset(slot), stateW[slot]);
+                        readDoubles(channel, info.stateBOffset(slot), stateB[slot]);
+                    }
+                    layer.setStep(info.step);
+                }
+                network.addLayer(layer);
+            }
+            return network;
+        }
+    }
+
+    /**
+     * 헤더와 레이어 정보를 읽고 레이어별 데이터 위치를 계산 (데이터는 읽지 않음)
+     * 파일을 직접 매핑해 쓰는 OffHeapNeuralNetwork 도 사용
+     */
+    static Layout readLayout(FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize < HEADER_BYTES) {
+            throw new IOException("모델 파일이 너무 작습니다. size=" + fileSize);
+        }
+
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt() != MAGIC) {
+            throw new IOException("모델 파일 형식이 아닙니다.");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("지원하지 않는 모델 버전입니다. version=" + version);
+        }
+        int flags = header.getInt();
+        int layerCount = header.getInt();
+        String lossId = getId(header, LOSS_ID_BYTES);
+
+        long dataOffset = HEADER_BYTES + (long) LAYER_RECORD_BYTES * layerCount;
+        if (layerCount <= 0 || fileSize < dataOffset) {
+            throw new IOException("레이어 정보가 잘못되었습니다. layerCount=" + layerCount);
+        }
+        ByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES,
+                (long) LAYER_RECORD_BYTES * layerCount).order(ByteOrder.LITTLE_ENDIAN);
+
+        boolean optimizerState = (flags & OPTIMIZER_STATE) != 0;
+        List<LayerInfo> layers = new ArrayList<>();
+        long position = dataOffset;
+
+        for (int k = 0; k < layerCount; k++) {
+            LayerInfo info = new LayerInfo();
+            info.inputSize = records.getInt();
+            info.outputSize = records.getInt();
+            info.learningRate = records.getDouble();
+            info.optimizer = getOptimizer(records);
+            info.step = records.getLong();
+            int storedSlots = info.optimizer.stateSlots();
+            info.activation = create(ACTIVATIONS, getId(records, ACTIVATION_ID_BYTES), "활성화 함수");
+
+            info.weightBytes = (long) info.inputSize * info.outputSize * Double.BYTES;
+            info.biasBytes = (long) info.outputSize * Double.BYTES;
+            info.weightOffset = OffHeapMemory.align(position);
+            info.biasOffset = OffHeapMemory.align(info.weightOffset + info.weightBytes);
+            position = info.biasOffset + info.biasBytes;
+            if (optimizerState) {
+                info.stateWOffset = OffHeapMemory.align(position);
+                info.stateBOffset = info.stateWOffset + storedSlots * OffHeapMemory.align(info.weightBytes);
+                if (storedSlots > 0) {
+                    position = info.stateBOffset(storedSlots - 1) + info.biasBytes;
+                }
+            } else {
+                info.stateWOffset = -1;
+                info.stateBOffset = -1;
+            }
+            layers.add(info);
+        }
+        if (position > fileSize) {
+            throw new IOException("모델 파일이 잘렸습니다. expected=" + position + ", actual=" + fileSize);
+        }
+        return new Layout(create(LOSSES, lossId, "손실 함수"), layers);
+    }
+
+    /**
+     * 모델 파일 구조 (readLayout 결과)
+     */
+    static final class Layout {
+        final LossFunction lossFunction;
+        final List<LayerInfo> layers;
+
+        Layout(LossFunction lossFunction, List<LayerInfo> layers) {
+            this.lossFunction = lossFunction;
+            this.layers = layers;
+        }
+    }
+
+    /**
+     * 레이어 하나의 설정과 파일 내 데이터 위치 (옵티마이저 상태가 없으면 state 위치는 -1)
+     */
+    static final class LayerInfo {
+        int inputSize;
+        int outputSize;
+        double learningRate;
+        Optimizer optimizer;
+        long step;
+        ActivationFunction activation;
+        long weightOffset;
+        long biasOffset;
+        long stateWOffset;
+        long stateBOffset;
+        long weightBytes;
+        long biasBytes;
+
+        // 상태 슬롯 slot 의 가중치/바이어스 위치 (모멘텀이면 슬롯 0 이 속도, 슬롯마다 64바이트 경계에서 시작)
+        long stateWOffset(int slot) {
+            return stateWOffset + slot * OffHeapMemory.align(weightBytes);
+        }
+
+        long stateBOffset(int slot) {
+            return stateBOffset + slot * OffHeapMemory.align(biasBytes);
+        }
+    }
+
+    /**
+     * 옵티마이저 id 와 하이퍼파라미터 기록
+     * 정확히 이 클래스들만 표현할 수 있음 (하위 클래스는 갱신 규칙이 다를 수 있으므로 거부)
+     */
+    private static void putOptimizer(ByteBuffer buffer, Optimizer optimizer) {
+        double[] params = new double[OPTIMIZER_PARAMS];
+        String id;
+        Class<?> type = optimizer.getClass();
+        if (type == SgdOptimizer.class) {
+            id = "sgd";
+        } else if (type == MomentumOptimizer.class) {
+            MomentumOptimizer momentum = (MomentumOptimizer) optimizer;
+            id = momentum.isNesterov() ? "nesterov" : "momentum";
+            params[0] = momentum.getMomentum();
+        } else if (type == RmsPropOptimizer.class) {
+            RmsPropOptimizer rmsProp = (RmsPropOptimizer) optimizer;
+            id = "rmsprop";
+            params[0] = rmsProp.getDecay();
+            params[1] = rmsProp.getEpsilon();
+        } else if (type == AdamOptimizer.class) {
+            AdamOptimizer adam = (AdamOptimizer) optimizer;
+            id = "adam";
+            params[0] = adam.getBeta1();
+            params[1] = adam.getBeta2();
+            params[2] = adam.getEpsilon();
+        } else {
+            throw new IllegalArgumentException("저장할 수 없는 옵티마이저입니다. type=" + type.getName());
+        }
+        putId(buffer, id, OPTIMIZER_ID_BYTES);
+        for (double param : params) {
+            buffer.putDouble(param);
+        }
+    }
+
+    private static Optimizer getOptimizer(ByteBuffer buffer) throws IOException {
+        String id = getId(buffer, OPTIMIZER_ID_BYTES);
+        double[] params = new double[OPTIMIZER_PARAMS];
+        for (int k = 0; k < OPTIMIZER_PARAMS; k++) {
+            params[k] = buffer.getDouble();
+        }
+        try {
+            switch (id) {
+                case "sgd":
+                    return new SgdOptimizer();
+                case "momentum":
+                    return new MomentumOptimizer(params[0], false);
+                case "nesterov":
+                    return new MomentumOptimizer(params[0], true);
+                case "rmsprop":
+                    return new RmsPropOptimizer(params[0], params[1]);
+                case "adam":
+                    return new AdamOptimizer(params[0], params[1], params[2]);
+                default:
+                    throw new IOException("알 수 없는 옵티마이저 id 입니다. id=" + id);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("옵티마이저 설정이 잘못되었습니다. id=" + id, e);
+        }
+    }
+
+    private static synchronized String idOf(Object function) {
+        String id = IDS.get(function.getClass());
+        if (id == null) {
+            throw new IllegalArgumentException("등록되지 않은 타입입니다. type=" + function.getClass().getName());
+        }
+        return id;
+    }
+
+    private static synchronized <T> T create(Map<String, Supplier<T>> registry, String id, String kind)
+            throws IOException {
+        Supplier<T> factory = registry.get(id);
+        if (factory == null) {
+            throw new IOException("알 수 없는 " + kind + " id 입니다. id=" + id);
+        }
+        return factory.get();
+    }
+
+    private static void putId(ByteBuffer buffer, String id, int length) {
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        buffer.put(bytes);
+        for (int k = bytes.length; k < length; k++) {
+            buffer.put((byte) 0);
+        }
+    }
+
+    private static String getId(ByteBuffer buffer, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        int end = 0;
+        while (end < length && bytes[end] != 0) {
+            end++;
+        }
+        return new String(bytes, 0, end, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * position 을 64바이트 경계까지 0 으로 채운 뒤 values 를 쓰고 다음 위치 반환
+     */
+    private static long writeDoubles(FileChannel channel, ByteBuffer buffer, long position, double[] values)
+            throws IOException {
+        long start = OffHeapMemory.align(position);
+        buffer.clear();
+        buffer.limit((int) (start - position));
+        while (buffer.hasRemaining()) {
+            buffer.put((byte) 0);
+        }
+        buffer.flip();
+        writeFully(channel, buffer);
+
+        int perChunk = buffer.capacity() / Double.BYTES;
+        for (int from = 0; from < values.length; from += perChunk) {
+            int count = Math.min(perChunk, values.length - from);
+            buffer.clear();
+            buffer.asDoubleBuffer().put(values, from, count);
+            buffer.limit(count * Double.BYTES);
+            writeFully(channel, buffer);
+        }
+        return start + (long) values.length * Double.BYTES;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * position 부터 values 길이만큼 매핑해서 읽고 다음 위치 반환
+     */
+    private static long readDoubles(FileChannel channel, long position, double[] values) throws IOException {
+        long end = position + (long) values.length * Double.BYTES;
+        if (end > channel.size()) {
+            throw new IOException("모델 파일이 잘렸습니다. expected=" + end + ", actual=" + channel.size());
+        }
+        int perChunk = (int) (MAX_MAP_BYTES / Double.BYTES);
+        for (int from = 0; from < values.length; from += perChunk) {
+            int count = Math.min(perChunk, values.length - from);
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY,
+                    position + (long) from * Double.BYTES, (long) count * Double.BYTES);
+            DoubleBuffer doubles = mapped.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+            doubles.get(values, from, count);
+        }
+        return end;
+    }
+}
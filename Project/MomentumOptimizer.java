@@ -0,0 +1,77 @@
+/**
+ * 모멘텀 SGD
+ * v = momentum * v - lr * g, w += v
+ * nesterov 이면 w += momentum * v - lr * g (갱신된 속도 방향을 한 번 더 내다봄)
+ */
+public class MomentumOptimizer implements Optimizer {
+
+    private static final DenseKernels KERNELS = DenseKernels.load();
+
+    private final double momentum;
+    private final boolean nesterov;
+
+    public MomentumOptimizer(double momentum) {
+        this(momentum, false);
+    }
+
+    public MomentumOptimizer(double momentum, boolean nesterov) {
+        if (momentum < 0.0 || momentum >= 1.0) {
+            throw new IllegalArgumentException("momentum 은 0 이상 1 미만이어야 합니다. momentum=" + momentum);
+        }
+        this.momentum = momentum;
+        this.nesterov = nesterov;
+    }
+
+    @Override
+    public int stateSlots() {
+        return 1;
+    }
+
+    @Override
+    public void update(double[] params, int offset, double[] grads, int gradOffset, int length,
+                       double learningRate, double gradScale, double[][] state, long step) {
+        double[] velocity = state[0];
+        double scale = learningRate * gradScale;
+
+        if (!nesterov) {
+            KERNELS.momentumUpdate(params, velocity, offset, grads, gradOffset, length, momentum, scale);
+            return;
+        }
+        for (int k = 0; k < length; k++) {
+            int idx = offset + k;
+            double g = scale * grads[gradOffset + k];
+            double v = momentum * velocity[idx] - g;
+            velocity[idx] = v;
+            params[idx] += momentum * v - g;
+        }
+    }
+
+    /**
+     * 기울기 0 인 k 단계: v 는 momentum^k 배가 되고
+     * w 는 v * (m + ... + m^k) 만큼 (nesterov 는 한 번 더 m 을 곱해서) 이동
+     */
+    @Override
+    public void catchUp(double[] params, int index, double[][] state, long lastStep, long step,
+                        double learningRate) {
+        long k = step - lastStep;
+        if (k <= 0) {
+            return;
+        }
+        double[] velocity = state[0];
+        double decay = Math.pow(momentum, k);
+        double travel = momentum * (1.0 - decay) / (1.0 - momentum);
+        if (nesterov) {
+            travel *= momentum;
+        }
+        params[index] += velocity[index] * travel;
+        velocity[index] *= decay;
+    }
+
+    public double getMomentum() {
+        return momentum;
+    }
+
+    public boolean isNesterov() {
+        return nesterov;
+    }
+}
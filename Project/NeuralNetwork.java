@@ -1,5 +1,16 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
 
 public class NeuralNetwork {
@@ -7,58 +18,1026 @@ public class NeuralNetwork {
     private final List<DenseLayer> layers = new ArrayList<>();
     private final LossFunction lossFunction;
 
+    // 파라미터 버전: 레이어 추가와 어느 레이어든 가중치 변경마다 하나씩 증가
+    private final AtomicLong version = new AtomicLong();
+
+    // 샘플 단위 학습용 작업 버퍼: outputs[k] 는 k 번째 레이어 출력, grads[k] 는 k 번째 레이어 입력 기울기
+    private double[][] outputs;
+    private double[][] grads;
+
+    // 학습 진행 리스너 (없으면 학습 루프에서 측정/출력을 하지 않음)
+    private TrainingListener listener;
+    // 레이어별 누적 시간 (리스너가 요청했을 때만 할당)
+    private long[] forwardNanos;
+    private long[] backwardNanos;
+
+    // 추론 전용 스레드별 중간 버퍼
+    private ThreadLocal<double[][]> inferenceScratch = ThreadLocal.withInitial(this::newInferenceScratch);
+    private ThreadLocal<double[][]> batchScratch = ThreadLocal.withInitial(this::newBatchScratch);
+
     public NeuralNetwork(LossFunction lossFunction) {
         this.lossFunction = lossFunction;
     }
 
+    /**
+     * 학습 리스너 설정 (null 이면 해제)
+     */
+    public void setTrainingListener(TrainingListener listener) {
+        this.listener = listener;
+    }
+
+    public List<DenseLayer> getLayers() {
+        return Collections.unmodifiableList(layers);
+    }
+
+    public LossFunction getLossFunction() {
+        return lossFunction;
+    }
+
+    /**
+     * 전체 파라미터 버전
+     * 어느 레이어든 가중치가 바뀌면 값이 달라지므로 예측 캐시 무효화에 사용
+     */
+    public long parameterVersion() {
+        return version.get();
+    }
+
+    /**
+     * float32 모델로 변환 (가중치, 바이어스, 모멘텀 상태 복사)
+     * SGD/모멘텀이 아닌 갱신 규칙을 쓰는 레이어가 있으면 IllegalArgumentException
+     */
+    public FloatNeuralNetwork toFloat() {
+        FloatNeuralNetwork network = new FloatNeuralNetwork(lossFunction);
+        for (DenseLayer layer : layers) {
+            network.addLayer(FloatDenseLayer.from(layer));
+        }
+        return network;
+    }
+
+    /**
+     * int8 양자화 모델로 변환 (서빙용)
+     * calibrationInputs 로 레이어마다 입력 범위를 정하므로 실제 입력 분포를 대표하는 샘플을 넘겨야 함
+     */
+    public QuantizedNeuralNetwork quantize(double[][] calibrationInputs) {
+        return QuantizedNeuralNetwork.quantize(this, calibrationInputs);
+    }
+
+    /**
+     * CSR 추론 모델로 변환 (가지치기 후 서빙용)
+     * 0 인 가중치를 빼고 저장하므로 비용이 남은 가중치 수에 비례
+     */
+    public SparseNeuralNetwork toSparse() {
+        return new SparseNeuralNetwork(layers);
+    }
+
+    /**
+     * 파라미터를 힙 밖(direct 버퍼)으로 복사한 신경망
+     */
+    public OffHeapNeuralNetwork toOffHeap() {
+        return OffHeapNeuralNetwork.from(this);
+    }
+
+    /**
+     * 레이어 추가 (새 레이어가 출력층)
+     * 소프트맥스처럼 원소 단위가 아닌 활성화 함수 뒤에는 레이어를 더 붙일 수 없음
+     */
     public void addLayer(DenseLayer layer) {
+        if (!layers.isEmpty()) {
+            checkHiddenActivation(layers.get(layers.size() - 1).getActivation());
+            // 출력층이 바뀌므로 손실 함수와 합쳐지는지 다시 판단
+            layers.get(layers.size() - 1).setFusedOutput(false);
+        }
+        layer.setFusedOutput(FusedLoss.fuses(lossFunction, layer.getActivation()));
+        layer.attachVersion(version);
         layers.add(layer);
+        version.incrementAndGet();
+        outputs = null;
+        grads = null;
+        inferenceScratch = ThreadLocal.withInitial(this::newInferenceScratch);
+        batchScratch = ThreadLocal.withInitial(this::newBatchScratch);
     }
 
-    
+    /**
+     * 순전파 (학습용 캐시 갱신)
+     * 결과는 매번 새 배열이므로 호출자가 보관해도 다음 호출에 덮어써지지 않음
+     * 할당 없이 쓰려면 forward(input, out) 사용
+     */
     public double[] forward(double[] input) {
-        double[] output = input;
-        for (DenseLayer layer : layers) {
-            output = layer.forward(output);
+        double[] output = new double[layers.get(layers.size() - 1).getOutputSize()];
+        forward(input, output);
+        return output;
+    }
+
+    /**
+     * 순전파 (출력 버퍼 재사용)
+     * 레이어 사이의 중간 결과는 작업 버퍼에 쓰므로 힙 할당이 없음
+     */
+    public void forward(double[] input, double[] out) {
+        ensureWorkspace();
+        double[] x = input;
+        int last = layers.size() - 1;
+        for (int k = 0; k < last; k++) {
+            layers.get(k).forward(x, outputs[k]);
+            x = outputs[k];
+        }
+        layers.get(last).forward(x, out);
+    }
+
+    /**
+     * 추론
+     * 학습 상태(역전파 캐시, 작업 버퍼)를 건드리지 않으므로 여러 스레드에서 동시에 호출할 수 있음
+     */
+    public double[] predict(double[] input) {
+        double[] output = new double[layers.get(layers.size() - 1).getOutputSize()];
+        predict(input, output);
+        return output;
+    }
+
+    /**
+     * 추론 (출력 버퍼 재사용)
+     * 중간 결과는 호출 스레드 전용 버퍼에 쓰므로 정상 상태에서는 힙 할당이 없음
+     */
+    public void predict(double[] input, double[] out) {
+        double[][] scratch = inferenceScratch.get();
+        double[] x = input;
+        int last = layers.size() - 1;
+        for (int k = 0; k < last; k++) {
+            layers.get(k).infer(x, scratch[k]);
+            x = scratch[k];
         }
+        layers.get(last).infer(x, out);
+    }
+
+    /**
+     * 희소 입력 추론 (첫 번째 레이어만 희소 경로, 이후는 밀집)
+     */
+    public double[] predict(SparseVector input) {
+        double[] output = new double[layers.get(layers.size() - 1).getOutputSize()];
+        predict(input, output);
         return output;
     }
 
+    /**
+     * 희소 입력 추론 (출력 버퍼 재사용)
+     */
+    public void predict(SparseVector input, double[] out) {
+        double[][] scratch = inferenceScratch.get();
+        int last = layers.size() - 1;
+        if (last == 0) {
+            layers.get(0).infer(input, out);
+            return;
+        }
+        layers.get(0).infer(input, scratch[0]);
+        double[] x = scratch[0];
+        for (int k = 1; k < last; k++) {
+            layers.get(k).infer(x, scratch[k]);
+            x = scratch[k];
+        }
+        layers.get(last).infer(x, out);
+    }
+
+    /**
+     * 미니배치 추론
+     * input: [batchSize][inputSize], output: [batchSize][outputSize] 를 행 우선으로 펼친 배열
+     * 예측 요청을 모아 한 번에 처리할 때 사용하며, predict 와 마찬가지로 여러 스레드에서 호출할 수 있음
+     */
+    public void predictBatch(double[] input, double[] output, int batchSize) {
+        double[][] scratch = batchScratch.get();
+        double[] x = input;
+        int last = layers.size() - 1;
+        for (int k = 0; k < last; k++) {
+            int needed = batchSize * layers.get(k).getOutputSize();
+            if (scratch[k].length < needed) {
+                scratch[k] = new double[needed];
+            }
+            layers.get(k).inferBatch(x, scratch[k], batchSize);
+            x = scratch[k];
+        }
+        layers.get(last).inferBatch(x, output, batchSize);
+    }
+
+    private double[][] newBatchScratch() {
+        double[][] scratch = new double[layers.size()][];
+        for (int k = 0; k < layers.size(); k++) {
+            scratch[k] = new double[0];
+        }
+        return scratch;
+    }
+
+    private double[][] newInferenceScratch() {
+        double[][] scratch = new double[layers.size()][];
+        for (int k = 0; k < layers.size(); k++) {
+            scratch[k] = new double[layers.get(k).getOutputSize()];
+        }
+        return scratch;
+    }
+
    
     public void train(double[][] inputs, double[][] targets, int epochs) {
+        train(inputs, targets, StoppingCriteria.maxEpochs(epochs));
+    }
+
+    /**
+     * 샘플 단위 학습 (종료 조건 지정)
+     */
+    public TrainingResult train(double[][] inputs, double[][] targets, StoppingCriteria criteria) {
         if (inputs.length != targets.length) {
             throw new IllegalArgumentException("입력 샘플 수와 타깃 샘플 수가 다릅니다.");
         }
 
         int nSamples = inputs.length;
 
-        for (int epoch = 1; epoch <= epochs; epoch++) {
+        return runEpochs(criteria, () -> nSamples, () -> {
             double totalLoss = 0.0;
+            for (int n = 0; n < nSamples; n++) {
+                totalLoss += trainSample(inputs[n], targets[n]);
+            }
+            return totalLoss;
+        });
+    }
+
+    /**
+     * 희소 입력 샘플 단위 학습
+     */
+    public void train(SparseVector[] inputs, double[][] targets, int epochs) {
+        train(inputs, targets, StoppingCriteria.maxEpochs(epochs));
+    }
 
+    /**
+     * 희소 입력 샘플 단위 학습 (종료 조건 지정)
+     * 첫 번째 레이어는 0 이 아닌 입력에 연결된 가중치만 읽고 갱신함
+     */
+    public TrainingResult train(SparseVector[] inputs, double[][] targets, StoppingCriteria criteria) {
+        if (inputs.length != targets.length) {
+            throw new IllegalArgumentException("입력 샘플 수와 타깃 샘플 수가 다릅니다.");
+        }
+
+        int nSamples = inputs.length;
+
+        return runEpochs(criteria, () -> nSamples, () -> {
+            double totalLoss = 0.0;
             for (int n = 0; n < nSamples; n++) {
-                double[] x = inputs[n];
-                double[] t = targets[n];
+                totalLoss += trainSample(null, inputs[n], targets[n]);
+            }
+            return totalLoss;
+        });
+    }
+
+    /**
+     * 샘플 하나로 순전파/역전파 후 손실 반환
+     * 작업 버퍼만 사용하므로 정상 상태에서는 힙 할당이 없음
+     */
+    double trainSample(double[] x, double[] t) {
+        return trainSample(x, null, t);
+    }
+
+    /**
+     * x 또는 sparseX 중 하나를 입력으로 사용
+     */
+    private double trainSample(double[] x, SparseVector sparseX, double[] t) {
+        ensureWorkspace();
+        int last = layers.size() - 1;
+
+        long[] fwdNanos = forwardNanos;
+        long[] bwdNanos = backwardNanos;
+
+        // 순전파
+        double[] in = x;
+        for (int k = 0; k <= last; k++) {
+            long t0 = fwdNanos != null ? System.nanoTime() : 0L;
+            if (k == 0 && sparseX != null) {
+                layers.get(0).forward(sparseX, outputs[0]);
+            } else {
+                layers.get(k).forward(in, outputs[k]);
+            }
+            if (fwdNanos != null) {
+                fwdNanos[k] += System.nanoTime() - t0;
+            }
+            in = outputs[k];
+        }
+        double[] y = outputs[last];
+
+        // 손실 계산
+        double loss = lossFunction.loss(t, y);
+
+        // 손실에 대한 출력 기울기
+        outputGradient(lossFunction, layers.get(last), t, y, grads[last + 1]);
+
+        // 역전파 (첫 번째 레이어는 입력 기울기가 필요 없음)
+        for (int k = last; k >= 0; k--) {
+            long t0 = bwdNanos != null ? System.nanoTime() : 0L;
+            layers.get(k).backward(grads[k + 1], k > 0 ? grads[k] : null);
+            if (bwdNanos != null) {
+                bwdNanos[k] += System.nanoTime() - t0;
+            }
+        }
+
+        return loss;
+    }
+
+    private void ensureWorkspace() {
+        if (outputs != null) {
+            return;
+        }
+        if (layers.isEmpty()) {
+            throw new IllegalStateException("레이어가 없습니다.");
+        }
+        outputs = new double[layers.size()][];
+        grads = new double[layers.size() + 1][];
+        for (int k = 0; k < layers.size(); k++) {
+            DenseLayer layer = layers.get(k);
+            outputs[k] = new double[layer.getOutputSize()];
+            grads[k] = new double[layer.getInputSize()];
+        }
+        grads[layers.size()] = new double[layers.get(layers.size() - 1).getOutputSize()];
+    }
+
+    /**
+     * 미니배치 학습
+     * batchSize 개의 샘플을 한 번에 순전파/역전파하고 배치마다 가중치를 한 번 갱신
+     */
+    public void train(double[][] inputs, double[][] targets, int epochs, int batchSize) {
+        train(inputs, targets, StoppingCriteria.maxEpochs(epochs), batchSize);
+    }
+
+    /**
+     * 미니배치 학습 (종료 조건 지정)
+     */
+    public TrainingResult train(double[][] inputs, double[][] targets, StoppingCriteria criteria, int batchSize) {
+        if (inputs.length != targets.length) {
+            throw new IllegalArgumentException("입력 샘플 수와 타깃 샘플 수가 다릅니다.");
+        }
+        BatchBuffers buffers = newBatchBuffers(batchSize);
+
+        int nSamples = inputs.length;
+        int inputSize = buffers.inputSize;
+        int outputSize = buffers.outputSize;
+
+        return runEpochs(criteria, () -> nSamples, () -> {
+            double totalLoss = 0.0;
+
+            for (int start = 0; start < nSamples; start += batchSize) {
+                int n = Math.min(batchSize, nSamples - start);
 
-                // 순전파
-                double[] y = forward(x);
+                // 배치 행렬 채우기
+                for (int b = 0; b < n; b++) {
+                    double[] x = inputs[start + b];
+                    double[] t = targets[start + b];
+                    if (x.length != inputSize) {
+                        throw new IllegalArgumentException("입력 크기가 잘못되었습니다. expected="
+                                + inputSize + ", actual=" + x.length);
+                    }
+                    if (t.length != outputSize) {
+                        throw new IllegalArgumentException("타깃 크기가 잘못되었습니다. expected="
+                                + outputSize + ", actual=" + t.length);
+                    }
+                    System.arraycopy(x, 0, buffers.activations[0], b * inputSize, inputSize);
+                    System.arraycopy(t, 0, buffers.targets, b * outputSize, outputSize);
+                }
+
+                totalLoss += trainBatch(buffers, n);
+            }
+            return totalLoss;
+        });
+    }
+
+    /**
+     * 희소 입력 미니배치 학습
+     */
+    public void train(CsrMatrix inputs, double[][] targets, int epochs, int batchSize) {
+        train(inputs, targets, StoppingCriteria.maxEpochs(epochs), batchSize);
+    }
+
+    /**
+     * 희소 입력 미니배치 학습 (종료 조건 지정)
+     * 첫 번째 레이어는 배치에 등장한 입력 열의 가중치만 읽고 갱신함
+     */
+    public TrainingResult train(CsrMatrix inputs, double[][] targets, StoppingCriteria criteria, int batchSize) {
+        if (inputs.getRows() != targets.length) {
+            throw new IllegalArgumentException("입력 샘플 수와 타깃 샘플 수가 다릅니다.");
+        }
+        BatchBuffers buffers = newBatchBuffers(batchSize, true);
+
+        int nSamples = inputs.getRows();
+        int outputSize = buffers.outputSize;
+
+        return runEpochs(criteria, () -> nSamples, () -> {
+            double totalLoss = 0.0;
+
+            for (int start = 0; start < nSamples; start += batchSize) {
+                int n = Math.min(batchSize, nSamples - start);
+
+                for (int b = 0; b < n; b++) {
+                    double[] t = targets[start + b];
+                    if (t.length != outputSize) {
+                        throw new IllegalArgumentException("타깃 크기가 잘못되었습니다. expected="
+                                + outputSize + ", actual=" + t.length);
+                    }
+                    System.arraycopy(t, 0, buffers.targets, b * outputSize, outputSize);
+                }
+
+                totalLoss += trainBatch(buffers, n, inputs, start);
+            }
+            return totalLoss;
+        });
+    }
+
+    /**
+     * 백그라운드 로더로 미니배치 학습
+     * 로더 스레드가 셔플/전처리/배치 구성을 맡고 이 스레드는 계산만 하므로 입력 준비가 계산과 겹침
+     * 에폭 단위로 끝나므로 같은 로더로 다시 호출하면 다음 에폭부터 이어짐
+     */
+    public void train(DataLoader loader, int epochs) {
+        train(loader, StoppingCriteria.maxEpochs(epochs));
+    }
 
-                // 손실 계산
-                double loss = lossFunction.loss(t, y);
-                totalLoss += loss;
+    /**
+     * 백그라운드 로더로 미니배치 학습 (종료 조건 지정)
+     */
+    public TrainingResult train(DataLoader loader, StoppingCriteria criteria) {
+        BatchBuffers buffers = newBatchBuffers(loader.getBatchSize(), true);
+        if (loader.getInputSize() != buffers.inputSize || loader.getTargetSize() != buffers.outputSize) {
+            throw new IllegalArgumentException("데이터셋 크기가 네트워크와 다릅니다. expected="
+                    + buffers.inputSize + "/" + buffers.outputSize
+                    + ", actual=" + loader.getInputSize() + "/" + loader.getTargetSize());
+        }
+        long[] epochSamples = new long[1];
 
-                // 손실에 대한 출력 기울기
-                double[] grad = lossFunction.derivative(t, y); 
+        return runEpochs(criteria, () -> epochSamples[0], () -> {
+            double totalLoss = 0.0;
+            epochSamples[0] = 0;
 
-                // 역전파
-                for (int layerIndex = layers.size() - 1; layerIndex >= 0; layerIndex--) {
-                    grad = layers.get(layerIndex).backward(grad);
+            while (true) {
+                DataLoader.Batch batch = loader.take();
+                try {
+                    if (batch.isEndOfEpoch()) {
+                        return totalLoss;
+                    }
+                    // 로더 버퍼를 복사하지 않고 그대로 배치 입력으로 사용
+                    buffers.activations[0] = batch.getInputs();
+                    buffers.targets = batch.getTargets();
+                    totalLoss += trainBatch(buffers, batch.getSize());
+                    epochSamples[0] += batch.getSize();
+                } finally {
+                    loader.release(batch);
                 }
             }
+        });
+    }
+
+    /**
+     * 스트리밍 미니배치 학습
+     * 에폭마다 source 를 처음부터 순서대로 읽어 batchSize 단위로 학습하므로,
+     * 메모리 사용량은 데이터셋 크기와 무관하게 배치 버퍼 크기로 고정됨
+     */
+    public void train(SampleSource source, int epochs, int batchSize) throws IOException {
+        train(source, StoppingCriteria.maxEpochs(epochs), batchSize);
+    }
+
+    /**
+     * 스트리밍 미니배치 학습 (종료 조건 지정)
+     */
+    public TrainingResult train(SampleSource source, StoppingCriteria criteria, int batchSize) throws IOException {
+        BatchBuffers buffers = newBatchBuffers(batchSize);
+        int inputSize = buffers.inputSize;
+        int outputSize = buffers.outputSize;
+
+        if (source.inputSize() != inputSize || source.targetSize() != outputSize) {
+            throw new IllegalArgumentException("데이터셋 크기가 네트워크와 다릅니다. expected="
+                    + inputSize + "/" + outputSize + ", actual=" + source.inputSize() + "/" + source.targetSize());
+        }
 
-            double avgLoss = totalLoss / nSamples;
+        double[] x = new double[inputSize];
+        double[] t = new double[outputSize];
+        long[] epochSamples = new long[1];
+
+        // 에폭 본문은 검사 예외를 던질 수 없으므로 감쌌다가 밖에서 다시 IOException 으로 던짐
+        try {
+            return runEpochs(criteria, () -> epochSamples[0], () -> {
+                double totalLoss = 0.0;
+                epochSamples[0] = 0;
+                try {
+                    source.reset();
+                    boolean more = true;
+                    while (more) {
+                        int n = 0;
+                        while (n < batchSize && (more = source.next(x, t))) {
+                            System.arraycopy(x, 0, buffers.activations[0], n * inputSize, inputSize);
+                            System.arraycopy(t, 0, buffers.targets, n * outputSize, outputSize);
+                            n++;
+                        }
+                        if (n > 0) {
+                            totalLoss += trainBatch(buffers, n);
+                            epochSamples[0] += n;
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return totalLoss;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
 
-            if (epoch == 1 || epoch % 500 == 0 || epoch == epochs) {
-                System.out.printf("Epoch %d, 평균 손실: %.6f%n", epoch, avgLoss);
+    /**
+     * 에폭 하나를 수행하고 손실 합을 반환
+     */
+    interface EpochBody {
+        double run();
+    }
+
+    /**
+     * 에폭 종료 통지 (리스너 전달)
+     */
+    interface EpochEnd {
+        void accept(int epoch, int epochs, double totalLoss, long nSamples, long startNanos);
+    }
+
+    /**
+     * 검증 데이터 평균 손실
+     */
+    interface ValidationLoss {
+        double compute(double[][] inputs, double[][] targets);
+    }
+
+    /**
+     * 종료 조건을 만족할 때까지 에폭 반복
+     * samples 는 방금 끝난 에폭의 샘플 수 (에폭마다 body 다음에 호출)
+     */
+    private TrainingResult runEpochs(StoppingCriteria criteria, LongSupplier samples, EpochBody body) {
+        return runEpochs(criteria, samples, body, true);
+    }
+
+    /**
+     * layerTimings 가 false 면 리스너가 원해도 레이어별 시간을 측정하지 않음 (병렬 학습)
+     */
+    private TrainingResult runEpochs(StoppingCriteria criteria, LongSupplier samples, EpochBody body,
+                                     boolean layerTimings) {
+        beginTraining();
+        if (!layerTimings) {
+            forwardNanos = null;
+            backwardNanos = null;
+        }
+        double[] validationOutput = criteria.hasValidation()
+                ? new double[layers.get(layers.size() - 1).getOutputSize()]
+                : null;
+        return runEpochs(criteria, samples, body, listener != null, this::endEpoch,
+                (inputs, targets) -> validationLoss(inputs, targets, validationOutput));
+    }
+
+    /**
+     * 종료 조건 판단을 맡는 에폭 루프 (OffHeapNeuralNetwork 도 같은 루프 사용)
+     * timed 이면 에폭마다 시작 시각을 재서 epochEnd 에 넘김
+     */
+    static TrainingResult runEpochs(StoppingCriteria criteria, LongSupplier samples, EpochBody body,
+                                    boolean timed, EpochEnd epochEnd, ValidationLoss validationLoss) {
+        long trainStart = System.nanoTime();
+        int maxEpochs = criteria.getMaxEpochs();
+        double avgLoss = Double.NaN;
+        double bestValidation = Double.NaN;
+        // patience 기준값: minDelta 보다 크게 좋아졌을 때만 갱신 (bestValidation 은 실제 최솟값)
+        double plateauBaseline = Double.NaN;
+        int sinceBest = 0;
+        TrainingResult.StopReason reason = TrainingResult.StopReason.MAX_EPOCHS;
+
+        int epoch = 0;
+        while (epoch < maxEpochs) {
+            epoch++;
+            long startNanos = timed ? System.nanoTime() : 0L;
+            double totalLoss = body.run();
+            long nSamples = samples.getAsLong();
+            epochEnd.accept(epoch, maxEpochs, totalLoss, nSamples, startNanos);
+            avgLoss = nSamples == 0 ? 0.0 : totalLoss / nSamples;
+
+            if (avgLoss <= criteria.getTargetLoss()) {
+                reason = TrainingResult.StopReason.TARGET_LOSS;
+                break;
+            }
+
+            if (criteria.hasValidation()) {
+                double validation = validationLoss.compute(criteria.getValidationInputs(),
+                        criteria.getValidationTargets());
+                if (Double.isNaN(bestValidation) || validation < bestValidation) {
+                    bestValidation = validation;
+                }
+                if (Double.isNaN(plateauBaseline) || validation < plateauBaseline - criteria.getMinDelta()) {
+                    plateauBaseline = validation;
+                    sinceBest = 0;
+                } else if (++sinceBest >= criteria.getPatience()) {
+                    reason = TrainingResult.StopReason.PLATEAU;
+                    break;
+                }
+            }
+
+            if (System.nanoTime() - trainStart >= criteria.getTimeBudgetNanos()) {
+                reason = TrainingResult.StopReason.TIME_BUDGET;
+                break;
+            }
+        }
+
+        return new TrainingResult(reason, epoch, avgLoss, bestValidation, System.nanoTime() - trainStart);
+    }
+
+    /**
+     * 검증 데이터 평균 손실 (학습 상태를 건드리지 않는 추론 경로 사용)
+     */
+    private double validationLoss(double[][] inputs, double[][] targets, double[] output) {
+        double total = 0.0;
+        for (int n = 0; n < inputs.length; n++) {
+            predict(inputs[n], output);
+            total += lossFunction.loss(targets[n], output);
+        }
+        return total / inputs.length;
+    }
+
+    /**
+     * 은닉층 활성화 확인: 원소 단위가 아닌 활성화(소프트맥스 등)는 출력층에만 허용
+     */
+    static void checkHiddenActivation(ActivationFunction activation) {
+        if (!activation.isElementWise()) {
+            throw new IllegalStateException("원소 단위가 아닌 활성화 함수는 출력층에만 쓸 수 있습니다. activation="
+                    + activation.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * 출력층 기울기: 손실 함수와 합쳐진 출력층이면 net 입력에 대한 기울기를 바로 계산
+     */
+    static void outputGradient(LossFunction lossFunction, DenseLayer outputLayer,
+                               double[] target, double[] output, double[] grad) {
+        if (outputLayer.isFusedOutput()) {
+            ((FusedLoss) lossFunction).fusedDerivative(target, output, grad);
+        } else {
+            lossFunction.derivative(target, output, grad);
+        }
+    }
+
+    private void beginTraining() {
+        if (listener != null && listener.wantsLayerTimings()) {
+            forwardNanos = new long[layers.size()];
+            backwardNanos = new long[layers.size()];
+        } else {
+            forwardNanos = null;
+            backwardNanos = null;
+        }
+    }
+
+    /**
+     * 에폭 종료 처리: 리스너가 있을 때만 지표를 만들어 전달
+     */
+    private void endEpoch(int epoch, int epochs, double totalLoss, long nSamples, long startNanos) {
+        if (listener == null) {
+            return;
+        }
+        double avgLoss = nSamples == 0 ? 0.0 : totalLoss / nSamples;
+        long elapsed = System.nanoTime() - startNanos;
+        listener.onEpochEnd(new EpochStats(epoch, epochs, avgLoss, nSamples, elapsed,
+                forwardNanos == null ? null : forwardNanos.clone(),
+                backwardNanos == null ? null : backwardNanos.clone(),
+                Collections.unmodifiableList(layers)));
+        if (forwardNanos != null) {
+            Arrays.fill(forwardNanos, 0L);
+            Arrays.fill(backwardNanos, 0L);
+        }
+    }
+
+    private BatchBuffers newBatchBuffers(int batchSize) {
+        return newBatchBuffers(batchSize, false);
+    }
+
+    private BatchBuffers newBatchBuffers(int batchSize, boolean externalInput) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("배치 크기는 1 이상이어야 합니다. batchSize=" + batchSize);
+        }
+        if (layers.isEmpty()) {
+            throw new IllegalStateException("레이어가 없습니다.");
+        }
+        return new BatchBuffers(layers, batchSize, externalInput);
+    }
+
+    /**
+     * buffers 에 채워진 n 개 샘플로 순전파/역전파 후 손실 합 반환
+     */
+    private double trainBatch(BatchBuffers buffers, int n) {
+        return trainBatch(buffers, n, null, 0);
+    }
+
+    /**
+     * sparseInput 이 있으면 activations[0] 대신 그 rowStart 부터 n 개 행을 입력으로 사용
+     */
+    private double trainBatch(BatchBuffers buffers, int n, CsrMatrix sparseInput, int rowStart) {
+        double[][] activations = buffers.activations;
+        double[][] grads = buffers.grads;
+        int outputSize = buffers.outputSize;
+
+        long[] fwdNanos = forwardNanos;
+        long[] bwdNanos = backwardNanos;
+
+        // 순전파
+        for (int k = 0; k < layers.size(); k++) {
+            long t0 = fwdNanos != null ? System.nanoTime() : 0L;
+            if (k == 0 && sparseInput != null) {
+                layers.get(0).forwardBatch(sparseInput, rowStart, activations[1], n);
+            } else {
+                layers.get(k).forwardBatch(activations[k], activations[k + 1], n);
+            }
+            if (fwdNanos != null) {
+                fwdNanos[k] += System.nanoTime() - t0;
+            }
+        }
+
+        // 손실과 출력 기울기
+        double loss = 0.0;
+        double[] y = activations[layers.size()];
+        double[] gradOut = grads[layers.size()];
+        for (int b = 0; b < n; b++) {
+            System.arraycopy(y, b * outputSize, buffers.row, 0, outputSize);
+            System.arraycopy(buffers.targets, b * outputSize, buffers.targetRow, 0, outputSize);
+            loss += lossFunction.loss(buffers.targetRow, buffers.row);
+            outputGradient(lossFunction, layers.get(layers.size() - 1),
+                    buffers.targetRow, buffers.row, buffers.gradRow);
+            System.arraycopy(buffers.gradRow, 0, gradOut, b * outputSize, outputSize);
+        }
+
+        // 역전파 (첫 번째 레이어는 입력 기울기가 필요 없음)
+        for (int k = layers.size() - 1; k >= 0; k--) {
+            long t0 = bwdNanos != null ? System.nanoTime() : 0L;
+            double[] gradInput = k > 0 ? grads[k] : null;
+            layers.get(k).backwardBatch(grads[k + 1], gradInput, n);
+            if (bwdNanos != null) {
+                bwdNanos[k] += System.nanoTime() - t0;
+            }
+        }
+        return loss;
+    }
+
+    /**
+     * 미니배치 학습용 버퍼
+     * activations[0] 은 입력, activations[k + 1] 은 k 번째 레이어 출력, targets 는 [batchSize][outputSize]
+     * 희소 입력이거나 로더 버퍼를 그대로 쓰면 activations[0] 은 할당하지 않음
+     */
+    private static final class BatchBuffers {
+        final int inputSize;
+        final int outputSize;
+        final double[][] activations;
+        final double[][] grads;
+        double[] targets;
+        final double[] row;
+        final double[] gradRow;
+        final double[] targetRow;
+
+        BatchBuffers(List<DenseLayer> layers, int batchSize, boolean externalInput) {
+            inputSize = layers.get(0).getInputSize();
+            outputSize = layers.get(layers.size() - 1).getOutputSize();
+            activations = new double[layers.size() + 1][];
+            grads = new double[layers.size() + 1][];
+            activations[0] = new double[externalInput ? 0 : batchSize * inputSize];
+            for (int k = 0; k < layers.size(); k++) {
+                DenseLayer layer = layers.get(k);
+                activations[k + 1] = new double[batchSize * layer.getOutputSize()];
+                grads[k + 1] = new double[batchSize * layer.getOutputSize()];
+            }
+            targets = new double[batchSize * outputSize];
+            row = new double[outputSize];
+            gradRow = new double[outputSize];
+            targetRow = new double[outputSize];
+        }
+    }
+
+    /**
+     * 데이터 병렬 미니배치 학습
+     * threads 개의 스레드를 가진 ForkJoinPool 을 만들어 사용하고 학습이 끝나면 종료
+     */
+    public void trainParallel(double[][] inputs, double[][] targets, int epochs, int batchSize, int threads) {
+        trainParallel(inputs, targets, StoppingCriteria.maxEpochs(epochs), batchSize, threads);
+    }
+
+    /**
+     * 데이터 병렬 미니배치 학습 (종료 조건 지정)
+     */
+    public TrainingResult trainParallel(double[][] inputs, double[][] targets, StoppingCriteria criteria,
+                                        int batchSize, int threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return trainParallel(inputs, targets, criteria, batchSize, pool, threads);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 데이터 병렬 미니배치 학습
+     * 각 배치를 workers 개의 연속 구간으로 나누어 executor 에서 기울기를 계산하고,
+     * 워커 순서대로 기울기를 합산한 뒤 배치마다 가중치를 한 번 갱신
+     * 합산 순서가 고정되어 있으므로 같은 workers 수와 같은 시드에서 결과가 재현됨
+     */
+    public void trainParallel(double[][] inputs, double[][] targets, int epochs, int batchSize,
+                              ExecutorService executor, int workers) {
+        trainParallel(inputs, targets, StoppingCriteria.maxEpochs(epochs), batchSize, executor, workers);
+    }
+
+    /**
+     * 데이터 병렬 미니배치 학습 (종료 조건 지정)
+     */
+    public TrainingResult trainParallel(double[][] inputs, double[][] targets, StoppingCriteria criteria,
+                                        int batchSize, ExecutorService executor, int workers) {
+        if (inputs.length != targets.length) {
+            throw new IllegalArgumentException("입력 샘플 수와 타깃 샘플 수가 다릅니다.");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("배치 크기는 1 이상이어야 합니다. batchSize=" + batchSize);
+        }
+        if (workers <= 0) {
+            throw new IllegalArgumentException("워커 수는 1 이상이어야 합니다. workers=" + workers);
+        }
+        if (layers.isEmpty()) {
+            throw new IllegalStateException("레이어가 없습니다.");
+        }
+
+        int nSamples = inputs.length;
+        int shardSize = (batchSize + workers - 1) / workers;
+
+        GradientWorker[] pool = new GradientWorker[workers];
+        for (int w = 0; w < workers; w++) {
+            pool[w] = new GradientWorker(layers, shardSize);
+        }
+
+        List<Callable<Void>> computeTasks = new ArrayList<>(workers);
+        for (GradientWorker worker : pool) {
+            computeTasks.add(() -> {
+                worker.compute(layers, lossFunction, inputs, targets);
+                return null;
+            });
+        }
+
+        // 기울기 합산은 레이어별 가중치 구간으로 나누어 병렬 실행 (원소마다 워커 0..workers-1 순서로 더함)
+        List<Callable<Void>> reduceTasks = new ArrayList<>();
+        for (int k = 0; k < layers.size(); k++) {
+            int layerIndex = k;
+            int size = pool[0].gradW[k].length;
+            int chunk = (size + workers - 1) / workers;
+            for (int from = 0; from < size; from += chunk) {
+                int lo = from;
+                int hi = Math.min(size, from + chunk);
+                reduceTasks.add(() -> {
+                    GradientWorker.reduce(pool, layerIndex, lo, hi);
+                    return null;
+                });
+            }
+        }
+
+        // 병렬 학습에서는 레이어별 시간을 측정하지 않음
+        return runEpochs(criteria, () -> nSamples, () -> {
+            double totalLoss = 0.0;
+
+            for (int start = 0; start < nSamples; start += batchSize) {
+                int n = Math.min(batchSize, nSamples - start);
+
+                for (int w = 0; w < workers; w++) {
+                    int from = start + Math.min(n, w * shardSize);
+                    int to = start + Math.min(n, (w + 1) * shardSize);
+                    pool[w].assign(from, to);
+                }
+
+                invokeAll(executor, computeTasks);
+                invokeAll(executor, reduceTasks);
+
+                for (int k = 0; k < layers.size(); k++) {
+                    layers.get(k).applyGradients(pool[0].gradW[k], pool[0].gradB[k], n);
+                }
+                for (GradientWorker worker : pool) {
+                    totalLoss += worker.loss;
+                }
+            }
+            return totalLoss;
+        }, false);
+    }
+
+    private static void invokeAll(ExecutorService executor, List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("병렬 학습이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("병렬 학습 중 오류가 발생했습니다.", e.getCause());
+        }
+    }
+
+    /**
+     * 병렬 학습 워커
+     * 배치의 한 구간에 대해 자신만의 활성화/기울기 버퍼로 기울기 합을 계산
+     */
+    private static final class GradientWorker {
+
+        private final double[][] activations;
+        private final double[][] grads;
+        private final double[][] gradNet;
+        private final double[][] gradW;
+        private final double[][] gradB;
+        private final double[] row;
+        private final double[] gradRow;
+
+        private int from;
+        private int to;
+        private double loss;
+
+        GradientWorker(List<DenseLayer> layers, int shardSize) {
+            int count = layers.size();
+            activations = new double[count + 1][];
+            grads = new double[count + 1][];
+            gradNet = new double[count][];
+            gradW = new double[count][];
+            gradB = new double[count][];
+            activations[0] = new double[shardSize * layers.get(0).getInputSize()];
+            for (int k = 0; k < count; k++) {
+                DenseLayer layer = layers.get(k);
+                activations[k + 1] = new double[shardSize * layer.getOutputSize()];
+                grads[k + 1] = new double[shardSize * layer.getOutputSize()];
+                gradNet[k] = new double[shardSize * layer.getOutputSize()];
+                gradW[k] = new double[layer.getOutputSize() * layer.getInputSize()];
+                gradB[k] = new double[layer.getOutputSize()];
+            }
+            int outputSize = layers.get(count - 1).getOutputSize();
+            row = new double[outputSize];
+            gradRow = new double[outputSize];
+        }
+
+        void assign(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        void compute(List<DenseLayer> layers, LossFunction lossFunction, double[][] inputs, double[][] targets) {
+            int count = layers.size();
+            for (int k = 0; k < count; k++) {
+                Arrays.fill(gradW[k], 0.0);
+                Arrays.fill(gradB[k], 0.0);
+            }
+            loss = 0.0;
+
+            int n = to - from;
+            if (n == 0) {
+                return;
+            }
+
+            int inputSize = layers.get(0).getInputSize();
+            for (int b = 0; b < n; b++) {
+                double[] x = inputs[from + b];
+                if (x.length != inputSize) {
+                    throw new IllegalArgumentException("입력 크기가 잘못되었습니다. expected="
+                            + inputSize + ", actual=" + x.length);
+                }
+                System.arraycopy(x, 0, activations[0], b * inputSize, inputSize);
+            }
+
+            // 순전파 (레이어 캐시를 쓰지 않는 추론 경로)
+            for (int k = 0; k < count; k++) {
+                layers.get(k).inferBatch(activations[k], activations[k + 1], n);
+            }
+
+            // 손실과 출력 기울기
+            int outputSize = row.length;
+            double[] y = activations[count];
+            double[] gradOut = grads[count];
+            for (int b = 0; b < n; b++) {
+                System.arraycopy(y, b * outputSize, row, 0, outputSize);
+                double[] t = targets[from + b];
+                loss += lossFunction.loss(t, row);
+                outputGradient(lossFunction, layers.get(count - 1), t, row, gradRow);
+                System.arraycopy(gradRow, 0, gradOut, b * outputSize, outputSize);
+            }
+
+            // 역전파 (가중치는 읽기만 함)
+            for (int k = count - 1; k >= 0; k--) {
+                double[] gradInput = k > 0 ? grads[k] : null;
+                layers.get(k).computeGradients(activations[k], activations[k + 1], grads[k + 1], n,
+                        gradNet[k], gradW[k], gradB[k], gradInput);
+            }
+        }
+
+        /**
+         * layerIndex 레이어의 가중치 기울기 [from, to) 구간을 워커 0 의 버퍼로 합산
+         * 바이어스 기울기는 from == 0 인 구간에서 함께 합산
+         */
+        static void reduce(GradientWorker[] workers, int layerIndex, int from, int to) {
+            double[] sumW = workers[0].gradW[layerIndex];
+            double[] sumB = workers[0].gradB[layerIndex];
+            for (int w = 1; w < workers.length; w++) {
+                double[] gW = workers[w].gradW[layerIndex];
+                for (int k = from; k < to; k++) {
+                    sumW[k] += gW[k];
+                }
+                if (from == 0) {
+                    double[] gB = workers[w].gradB[layerIndex];
+                    for (int k = 0; k < sumB.length; k++) {
+                        sumB[k] += gB[k];
+                    }
+                }
             }
         }
     }
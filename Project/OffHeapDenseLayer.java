@@ -0,0 +1,336 @@
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 파라미터를 힙 밖에 두는 완전연결 레이어
+ * 가중치/바이어스/모멘텀 속도를 direct 버퍼나 파일 매핑 버퍼에 저장해 모델 크기와 무관하게 힙과 GC 부담이 일정함
+ * forward/infer/backward 는 DenseLayer 의 샘플 단위 경로(SGD/모멘텀)와 같은 DenseKernels 로 계산
+ *
+ * 가중치는 출력 뉴런(행) 단위로 연속 저장하며, 2GB 를 넘는 레이어는 여러 chunk 로 나눔
+ * 커널의 버퍼 연산이 버퍼를 직접 읽고 쓰므로 파라미터를 힙으로 복사하지 않음
+ *
+ * 다 쓰면 close() 로 버퍼를 즉시 해제 (닫은 뒤에는 사용할 수 없음)
+ * 버퍼를 읽고 쓰는 메서드는 읽기 락을 잡고, close() 는 쓰기 락으로 진행 중인 호출이 끝나길 기다린 뒤 해제하므로
+ * 추론 중에 다른 스레드가 닫아도 해제된 메모리를 읽지 않음 (닫힌 뒤의 호출은 IllegalStateException)
+ */
+public class OffHeapDenseLayer implements AutoCloseable {
+
+    private static final DenseKernels KERNELS = DenseKernels.load();
+
+    private final int inputSize;
+    private final int outputSize;
+
+    private final ByteBuffer[] weights;
+    private final int rowsPerChunk;
+    private final ByteBuffer biases;
+
+    // 모멘텀이 0 이거나 읽기 전용이면 null (첫 역전파 때 할당)
+    private ByteBuffer[] velocityW;
+    private ByteBuffer velocityB;
+
+    // 이 레이어가 할당하거나 매핑한 원본 버퍼 (force/close 용)
+    private final List<ByteBuffer> buffers;
+
+    // 버퍼 사용(읽기 락)과 해제(쓰기 락)를 가름, closed 는 락 안에서만 읽고 씀
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private boolean closed;
+
+    private final ActivationFunction activation;
+    private final double learningRate;
+    private final double momentum;
+    private final boolean readOnly;
+
+    // 손실 함수와 합쳐진 출력층이면 gradOutput 이 이미 net 입력에 대한 기울기
+    private boolean fusedOutput;
+
+    // 역전파를 위한 캐시 (힙에 두지만 크기는 입력/출력 크기에 비례)
+    private final double[] lastInput;
+    private final double[] lastOutput;
+    private final double[] gradNet;
+
+    OffHeapDenseLayer(int inputSize, int outputSize, ActivationFunction activation,
+                      double learningRate, double momentum,
+                      ByteBuffer[] weights, ByteBuffer biases,
+                      ByteBuffer[] velocityW, ByteBuffer velocityB, boolean readOnly,
+                      List<ByteBuffer> buffers) {
+        this.inputSize = inputSize;
+        this.outputSize = outputSize;
+        this.activation = activation;
+        this.learningRate = learningRate;
+        this.momentum = momentum;
+        this.weights = weights;
+        this.rowsPerChunk = OffHeapMemory.rowsPerChunk(inputSize);
+        this.biases = biases;
+        this.velocityW = velocityW;
+        this.velocityB = velocityB;
+        this.readOnly = readOnly;
+        this.buffers = buffers;
+
+        this.lastInput = new double[inputSize];
+        this.lastOutput = new double[outputSize];
+        this.gradNet = new double[outputSize];
+    }
+
+    /**
+     * DenseLayer 의 가중치와 모멘텀 상태를 direct 버퍼로 복사
+     * off-heap 으로 옮길 수 없는 갱신 규칙(Adam, RMSProp, nesterov 모멘텀 등)이면 예외
+     */
+    public static OffHeapDenseLayer from(DenseLayer layer) {
+        checkOptimizer(layer.getOptimizer());
+        int inputSize = layer.getInputSize();
+        int outputSize = layer.getOutputSize();
+        List<ByteBuffer> buffers = new ArrayList<>();
+
+        ByteBuffer[] weights = OffHeapMemory.allocateRows(outputSize, inputSize, buffers);
+        copyRows(layer.weightArray(), weights);
+        ByteBuffer biases = OffHeapMemory.allocate(outputSize, buffers);
+        biases.asDoubleBuffer().put(layer.biasArray());
+
+        ByteBuffer[] velocityW = null;
+        ByteBuffer velocityB = null;
+        if (layer.velocityWArray() != null) {
+            velocityW = OffHeapMemory.allocateRows(outputSize, inputSize, buffers);
+            copyRows(layer.velocityWArray(), velocityW);
+            velocityB = OffHeapMemory.allocate(outputSize, buffers);
+            velocityB.asDoubleBuffer().put(layer.velocityBArray());
+        }
+        return new OffHeapDenseLayer(inputSize, outputSize, layer.getActivation(), layer.getLearningRate(),
+                layer.getMomentum(), weights, biases, velocityW, velocityB, false, buffers);
+    }
+
+    /**
+     * off-heap 레이어가 그대로 재현할 수 있는 갱신 규칙인지 확인 (SGD, 고전 모멘텀)
+     */
+    static void checkOptimizer(Optimizer optimizer) {
+        boolean supported = optimizer instanceof SgdOptimizer
+                || (optimizer instanceof MomentumOptimizer && !((MomentumOptimizer) optimizer).isNesterov());
+        if (!supported) {
+            throw new IllegalArgumentException("off-heap 레이어는 SGD/모멘텀 갱신만 지원합니다. optimizer="
+                    + optimizer.getClass().getSimpleName());
+        }
+    }
+
+    private static void copyRows(double[] source, ByteBuffer[] chunks) {
+        int offset = 0;
+        for (ByteBuffer chunk : chunks) {
+            int length = chunk.capacity() / Double.BYTES;
+            chunk.asDoubleBuffer().put(source, offset, length);
+            offset += length;
+        }
+    }
+
+    /**
+     * 순전파 (역전파 캐시 저장)
+     */
+    public void forward(double[] input, double[] out) {
+        checkSizes(input, out);
+        Lock read = acquire();
+        try {
+            System.arraycopy(input, 0, lastInput, 0, inputSize);
+            compute(lastInput, lastOutput);
+            System.arraycopy(lastOutput, 0, out, 0, outputSize);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    /**
+     * 추론 전용 순전파
+     * 가중치만 읽으므로 여러 스레드에서 동시에 호출할 수 있음
+     */
+    public void infer(double[] input, double[] out) {
+        checkSizes(input, out);
+        Lock read = acquire();
+        try {
+            compute(input, out);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    private void compute(double[] input, double[] out) {
+        for (int o = 0; o < outputSize; o++) {
+            int base = (o % rowsPerChunk) * inputSize;
+            double sum = KERNELS.dot(weights[o / rowsPerChunk], base, input, 0, inputSize);
+            out[o] = biases.getDouble(o * Double.BYTES) + sum;
+        }
+        activation.activate(out, out, outputSize);
+    }
+
+    private void checkSizes(double[] input, double[] out) {
+        if (input.length != inputSize) {
+            throw new IllegalArgumentException("입력 크기가 잘못되었습니다. expected="
+                    + inputSize + ", actual=" + input.length);
+        }
+        if (out.length < outputSize) {
+            throw new IllegalArgumentException("출력 크기가 잘못되었습니다. expected="
+                    + outputSize + ", actual=" + out.length);
+        }
+    }
+
+    /**
+     * 역전파 (모멘텀 SGD)
+     * gradInput 이 null 이면 입력에 대한 기울기는 계산하지 않음 (첫 번째 레이어)
+     */
+    public void backward(double[] gradOutput, double[] gradInput) {
+        if (readOnly) {
+            throw new IllegalStateException("읽기 전용으로 매핑된 레이어는 학습할 수 없습니다.");
+        }
+        if (gradOutput.length != outputSize) {
+            throw new IllegalArgumentException("gradOutput 크기가 잘못되었습니다.");
+        }
+        if (gradInput != null) {
+            if (gradInput.length != inputSize) {
+                throw new IllegalArgumentException("gradInput 크기가 잘못되었습니다.");
+            }
+            Arrays.fill(gradInput, 0.0);
+        }
+        Lock read = acquire();
+        try {
+            update(gradOutput, gradInput);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    private void update(double[] gradOutput, double[] gradInput) {
+        if (momentum != 0.0 && velocityW == null) {
+            velocityW = OffHeapMemory.allocateRows(outputSize, inputSize, buffers);
+            velocityB = OffHeapMemory.allocate(outputSize, buffers);
+        }
+
+        // 활성화 미분
+        System.arraycopy(gradOutput, 0, gradNet, 0, outputSize);
+        if (!fusedOutput) {
+            activation.derivativeInPlace(lastOutput, gradNet, outputSize);
+        }
+
+        for (int o = 0; o < outputSize; o++) {
+            double g = gradNet[o];
+            double scale = learningRate * g;
+            ByteBuffer w = weights[o / rowsPerChunk];
+            int base = (o % rowsPerChunk) * inputSize;
+
+            // 입력 기울기는 갱신 전 가중치로 누적
+            if (gradInput != null) {
+                KERNELS.axpy(g, w, base, gradInput, 0, inputSize);
+            }
+            if (velocityW == null) {
+                KERNELS.axpy(-scale, lastInput, 0, w, base, inputSize);
+            } else {
+                KERNELS.momentumUpdate(w, velocityW[o / rowsPerChunk], base, lastInput, 0, inputSize,
+                        momentum, scale);
+            }
+        }
+
+        if (velocityB == null) {
+            KERNELS.axpy(-learningRate, gradNet, 0, biases, 0, outputSize);
+        } else {
+            KERNELS.momentumUpdate(biases, velocityB, 0, gradNet, 0, outputSize, momentum, learningRate);
+        }
+    }
+
+    /**
+     * 가중치를 힙 배열로 복사 (비교/변환용)
+     */
+    public double[] copyWeights() {
+        double[] copy = new double[outputSize * inputSize];
+        Lock read = acquire();
+        try {
+            int offset = 0;
+            for (ByteBuffer chunk : weights) {
+                int length = chunk.capacity() / Double.BYTES;
+                chunk.asDoubleBuffer().get(copy, offset, length);
+                offset += length;
+            }
+        } finally {
+            read.unlock();
+        }
+        return copy;
+    }
+
+    /**
+     * 힙 밖에 둔 파라미터 바이트 수 (모멘텀 속도 포함)
+     */
+    public long parameterBytes() {
+        long doubles = (long) outputSize * (inputSize + 1);
+        return (velocityW != null ? 2 : 1) * doubles * Double.BYTES;
+    }
+
+    /**
+     * 읽기/쓰기 매핑의 변경 내용을 디스크에 기록 (복사했거나 읽기 전용이면 아무 일도 하지 않음)
+     */
+    public void force() {
+        Lock read = acquire();
+        try {
+            OffHeapMemory.force(buffers);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    /**
+     * 버퍼를 해제하고 파일 매핑을 닫음 (여러 번 호출해도 됨)
+     * 다른 스레드에서 진행 중인 추론/학습이 끝날 때까지 기다린 뒤 해제
+     * 쓰기 매핑의 변경 내용은 닫기 전에 force() 로 기록해야 함
+     */
+    @Override
+    public void close() {
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            OffHeapMemory.release(buffers);
+        } finally {
+            write.unlock();
+        }
+    }
+
+    /**
+     * 읽기 락을 잡고 열려 있는지 확인 (닫혔으면 락을 풀고 예외)
+     */
+    private Lock acquire() {
+        Lock read = lock.readLock();
+        read.lock();
+        if (closed) {
+            read.unlock();
+            throw new IllegalStateException("닫힌 레이어입니다.");
+        }
+        return read;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    public ActivationFunction getActivation() {
+        return activation;
+    }
+
+    void setFusedOutput(boolean fusedOutput) {
+        this.fusedOutput = fusedOutput;
+    }
+
+    public double getLearningRate() {
+        return learningRate;
+    }
+
+    public double getMomentum() {
+        return momentum;
+    }
+
+    public int getInputSize() {
+        return inputSize;
+    }
+
+    public int getOutputSize() {
+        return outputSize;
+    }
+}
@@ -0,0 +1,164 @@
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+
+/**
+ * 힙 밖(direct/파일 매핑) double 버퍼 할당과 해제
+ * 돌려주는 ByteBuffer 는 double 배열로 쓰며 바이트 순서가 이미 지정되어 있음 (DenseKernels 의 버퍼 연산용)
+ * ByteBuffer 하나는 2GB 를 넘을 수 없으므로 큰 행렬은 행 단위로 나눈 여러 버퍼(chunk)로 보관
+ *
+ * 할당하거나 매핑한 원본 ByteBuffer 는 owner 목록에 추가하고, 다 쓰면 release 로 즉시 해제
+ *
+ * 정렬: direct 버퍼는 시작 주소를 ALIGNMENT(64바이트, 캐시 라인)에 맞춤
+ * 파일 매핑은 ModelIO 가 배열 시작 위치를 64바이트 경계에 두므로 매핑 주소도 같은 정렬을 가짐
+ * chunk 는 8행 단위로 나눠 chunk 시작도 정렬됨 (한 행이 MAX_CHUNK_BYTES / 8 을 넘는 경우 제외)
+ */
+final class OffHeapMemory {
+
+    // 배열 시작 정렬 단위 (바이트)
+    static final int ALIGNMENT = 64;
+
+    // 버퍼 하나의 최대 크기 (ALIGNMENT 의 배수, 정렬 여유분을 더해도 int 범위 안)
+    static final long MAX_CHUNK_BYTES = (Integer.MAX_VALUE - ALIGNMENT) & ~(long) (ALIGNMENT - 1);
+
+    // chunk 를 나누는 행 단위 (8행 x 8바이트 = 64바이트의 배수)
+    private static final int CHUNK_ROW_UNIT = ALIGNMENT / Double.BYTES;
+
+    // direct/매핑 버퍼를 GC 를 기다리지 않고 해제 (sun.misc.Unsafe.invokeCleaner, 없으면 null)
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> type = Class.forName("sun.misc.Unsafe");
+            Field field = type.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = type.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // 해제는 GC 에 맡김
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private OffHeapMemory() {
+    }
+
+    /**
+     * position 이상인 가장 가까운 ALIGNMENT 배수
+     */
+    static long align(long position) {
+        return (position + ALIGNMENT - 1) & ~(long) (ALIGNMENT - 1);
+    }
+
+    /**
+     * 0 으로 채워진 64바이트 정렬 direct 버퍼
+     * 해제는 원본 버퍼로 해야 하므로 alignedSlice 가 아닌 원본 ByteBuffer 를 owner 에 추가
+     */
+    static ByteBuffer allocate(int doubles, List<ByteBuffer> owner) {
+        long bytes = (long) doubles * Double.BYTES;
+        if (bytes > MAX_CHUNK_BYTES) {
+            throw new IllegalArgumentException("버퍼가 너무 큽니다. bytes=" + bytes);
+        }
+        // 크기를 정렬 단위로 올려 두어야 alignedSlice 의 끝이 bytes 아래로 잘리지 않음
+        ByteBuffer raw = ByteBuffer.allocateDirect((int) align(bytes) + ALIGNMENT - 1);
+        owner.add(raw);
+        return raw.alignedSlice(ALIGNMENT).slice(0, (int) bytes).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * 한 chunk 에 들어가는 행 수 (가능하면 8의 배수라서 다음 chunk 시작도 64바이트 정렬)
+     */
+    static int rowsPerChunk(int rowLength) {
+        long rowBytes = (long) rowLength * Double.BYTES;
+        if (rowBytes > MAX_CHUNK_BYTES) {
+            throw new IllegalArgumentException("행이 너무 큽니다. rowLength=" + rowLength);
+        }
+        long rows = MAX_CHUNK_BYTES / Math.max(rowBytes, 1);
+        if (rows >= CHUNK_ROW_UNIT) {
+            rows -= rows % CHUNK_ROW_UNIT;
+        }
+        return (int) Math.max(1, rows);
+    }
+
+    /**
+     * rows x rowLength 행렬을 chunk 단위 direct 버퍼로 할당
+     */
+    static ByteBuffer[] allocateRows(int rows, int rowLength, List<ByteBuffer> owner) {
+        int perChunk = rowsPerChunk(rowLength);
+        ByteBuffer[] chunks = new ByteBuffer[(rows + perChunk - 1) / perChunk];
+        for (int c = 0; c < chunks.length; c++) {
+            int chunkRows = Math.min(perChunk, rows - c * perChunk);
+            chunks[c] = allocate(chunkRows * rowLength, owner);
+        }
+        return chunks;
+    }
+
+    /**
+     * 파일의 position 부터 rows x rowLength 행렬을 chunk 단위로 매핑 (리틀 엔디언, ModelIO 형식)
+     * 매핑 주소는 페이지 경계 + 파일 내 위치이므로 position 이 64바이트 정렬이면 버퍼도 정렬됨
+     * READ_ONLY 매핑은 같은 파일을 여는 모든 프로세스가 페이지 캐시 한 벌을 공유함
+     * owner 에는 나중에 force/release 할 수 있도록 매핑한 버퍼를 추가
+     */
+    static ByteBuffer[] mapRows(FileChannel channel, FileChannel.MapMode mode, long position,
+                                int rows, int rowLength, List<ByteBuffer> owner) throws IOException {
+        int perChunk = rowsPerChunk(rowLength);
+        ByteBuffer[] chunks = new ByteBuffer[(rows + perChunk - 1) / perChunk];
+        long offset = position;
+        for (int c = 0; c < chunks.length; c++) {
+            int chunkRows = Math.min(perChunk, rows - c * perChunk);
+            long bytes = (long) chunkRows * rowLength * Double.BYTES;
+            MappedByteBuffer mapped = channel.map(mode, offset, bytes);
+            owner.add(mapped);
+            chunks[c] = mapped.order(ByteOrder.LITTLE_ENDIAN);
+            offset += bytes;
+        }
+        return chunks;
+    }
+
+    /**
+     * 파일의 position 부터 length 개 double 을 매핑
+     */
+    static ByteBuffer map(FileChannel channel, FileChannel.MapMode mode, long position, int length,
+                          List<ByteBuffer> owner) throws IOException {
+        return mapRows(channel, mode, position, 1, length, owner)[0];
+    }
+
+    /**
+     * 읽기/쓰기 매핑 버퍼의 변경 내용을 디스크에 기록 (direct 버퍼나 읽기 전용 매핑은 건너뜀)
+     */
+    static void force(List<ByteBuffer> owner) {
+        for (ByteBuffer buffer : owner) {
+            if (buffer instanceof MappedByteBuffer && !buffer.isReadOnly()) {
+                ((MappedByteBuffer) buffer).force();
+            }
+        }
+    }
+
+    /**
+     * owner 의 버퍼를 모두 해제하고 목록을 비움
+     * 해제한 버퍼를 다시 읽으면 JVM 이 죽으므로, 이 버퍼를 보는 다른 버퍼를 더는 쓰지 않을 때만 호출
+     */
+    static void release(List<ByteBuffer> owner) {
+        if (INVOKE_CLEANER != null) {
+            for (ByteBuffer buffer : owner) {
+                try {
+                    INVOKE_CLEANER.invoke(UNSAFE, buffer);
+                } catch (ReflectiveOperationException e) {
+                    // 해제하지 못한 버퍼는 GC 가 회수
+                }
+            }
+        }
+        owner.clear();
+    }
+}
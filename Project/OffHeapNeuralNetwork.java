@@ -0,0 +1,278 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 파라미터를 힙 밖에 두는 신경망
+ * NeuralNetwork.toOffHeap() 으로 복사하거나, ModelIO 로 저장한 파일을 map() 으로 직접 매핑해서 사용
+ *
+ * 읽기 전용 매핑은 파일 내용을 복사하지 않으므로 같은 모델을 여는 여러 서빙 JVM 이 페이지 캐시 한 벌을 공유함
+ * 읽기/쓰기 매핑으로 학습하면 갱신이 파일에 바로 반영됨 (force() 로 디스크에 기록)
+ * 다 쓰면 close() 로 direct 버퍼를 해제하고 매핑을 닫음
+ */
+public class OffHeapNeuralNetwork implements AutoCloseable {
+
+    private final List<OffHeapDenseLayer> layers;
+    private final LossFunction lossFunction;
+    private final boolean fusedOutput;
+    private TrainingListener listener;
+
+    // 학습용 작업 버퍼
+    private double[][] outputs;
+    private double[][] grads;
+
+    // 추론 전용 스레드별 중간 버퍼
+    private final ThreadLocal<double[][]> inferenceScratch = ThreadLocal.withInitial(this::newInferenceScratch);
+
+    private OffHeapNeuralNetwork(List<OffHeapDenseLayer> layers, LossFunction lossFunction) {
+        if (layers.isEmpty()) {
+            throw new IllegalStateException("레이어가 없습니다.");
+        }
+        this.layers = Collections.unmodifiableList(layers);
+        this.lossFunction = lossFunction;
+        // 매핑한 파일은 addLayer 를 거치지 않으므로 여기서 확인
+        for (int k = 0; k < layers.size() - 1; k++) {
+            NeuralNetwork.checkHiddenActivation(layers.get(k).getActivation());
+        }
+
+        OffHeapDenseLayer output = layers.get(layers.size() - 1);
+        this.fusedOutput = FusedLoss.fuses(lossFunction, output.getActivation());
+        output.setFusedOutput(fusedOutput);
+    }
+
+    /**
+     * 힙 신경망의 파라미터를 direct 버퍼로 복사
+     */
+    public static OffHeapNeuralNetwork from(NeuralNetwork network) {
+        List<OffHeapDenseLayer> layers = new ArrayList<>();
+        for (DenseLayer layer : network.getLayers()) {
+            layers.add(OffHeapDenseLayer.from(layer));
+        }
+        return new OffHeapNeuralNetwork(layers, network.getLossFunction());
+    }
+
+    /**
+     * ModelIO 로 저장한 모델 파일을 복사 없이 매핑
+     * readOnly 이면 추론만 가능하고, 아니면 학습 결과가 파일에 그대로 쓰임
+     * (파일에 모멘텀 상태가 없으면 속도 배열은 학습할 때 direct 버퍼로 할당)
+     * 쓰기 가능하게 매핑할 때 SGD/모멘텀이 아닌 옵티마이저로 저장된 레이어가 있으면 IllegalArgumentException
+     */
+    public static OffHeapNeuralNetwork map(Path path, boolean readOnly) throws IOException {
+        FileChannel.MapMode mode = readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE;
+        List<OffHeapDenseLayer> layers = new ArrayList<>();
+        List<ByteBuffer> buffers = new ArrayList<>();
+
+        // 매핑은 채널을 닫아도 유지됨
+        try (FileChannel channel = readOnly
+                ? FileChannel.open(path, StandardOpenOption.READ)
+                : FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ModelIO.Layout layout = ModelIO.readLayout(channel);
+
+            for (ModelIO.LayerInfo info : layout.layers) {
+                buffers = new ArrayList<>();
+                ByteBuffer[] weights = OffHeapMemory.mapRows(channel, mode, info.weightOffset,
+                        info.outputSize, info.inputSize, buffers);
+                ByteBuffer biases = OffHeapMemory.map(channel, mode, info.biasOffset, info.outputSize, buffers);
+
+                // 읽기 전용이면 갱신 규칙은 쓰이지 않으므로 어떤 옵티마이저로 저장된 파일이든 매핑
+                double momentum = 0.0;
+                if (!readOnly) {
+                    OffHeapDenseLayer.checkOptimizer(info.optimizer);
+                    if (info.optimizer instanceof MomentumOptimizer) {
+                        momentum = ((MomentumOptimizer) info.optimizer).getMomentum();
+                    }
+                }
+
+                ByteBuffer[] velocityW = null;
+                ByteBuffer velocityB = null;
+                if (momentum != 0.0 && info.stateWOffset >= 0) {
+                    velocityW = OffHeapMemory.mapRows(channel, mode, info.stateWOffset(0),
+                            info.outputSize, info.inputSize, buffers);
+                    velocityB = OffHeapMemory.map(channel, mode, info.stateBOffset(0), info.outputSize, buffers);
+                }
+                layers.add(new OffHeapDenseLayer(info.inputSize, info.outputSize, info.activation,
+                        info.learningRate, momentum, weights, biases, velocityW, velocityB, readOnly, buffers));
+            }
+            return new OffHeapNeuralNetwork(layers, layout.lossFunction);
+        } catch (IOException | RuntimeException e) {
+            // 도중에 실패하면 이미 만든 매핑을 바로 닫음
+            // (release 는 목록을 비우므로 레이어가 이미 해제한 buffers 를 다시 넘겨도 됨)
+            for (OffHeapDenseLayer layer : layers) {
+                layer.close();
+            }
+            OffHeapMemory.release(buffers);
+            throw e;
+        }
+    }
+
+    public List<OffHeapDenseLayer> getLayers() {
+        return layers;
+    }
+
+    public LossFunction getLossFunction() {
+        return lossFunction;
+    }
+
+    /**
+     * 추론
+     * 여러 스레드에서 동시에 호출할 수 있음
+     */
+    public double[] predict(double[] input) {
+        double[] output = new double[layers.get(layers.size() - 1).getOutputSize()];
+        predict(input, output);
+        return output;
+    }
+
+    /**
+     * 추론 (출력 버퍼 재사용)
+     */
+    public void predict(double[] input, double[] out) {
+        double[][] scratch = inferenceScratch.get();
+        double[] x = input;
+        int last = layers.size() - 1;
+        for (int k = 0; k < last; k++) {
+            layers.get(k).infer(x, scratch[k]);
+            x = scratch[k];
+        }
+        layers.get(last).infer(x, out);
+    }
+
+    private double[][] newInferenceScratch() {
+        double[][] scratch = new double[layers.size()][];
+        for (int k = 0; k < layers.size(); k++) {
+            scratch[k] = new double[layers.get(k).getOutputSize()];
+        }
+        return scratch;
+    }
+
+    /**
+     * 학습 리스너 설정 (null 이면 해제, 레이어별 시간과 노름은 제공하지 않음)
+     */
+    public void setTrainingListener(TrainingListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * 샘플 단위 학습 (NeuralNetwork.train 과 같은 갱신)
+     */
+    public void train(double[][] inputs, double[][] targets, int epochs) {
+        train(inputs, targets, StoppingCriteria.maxEpochs(epochs));
+    }
+
+    /**
+     * 샘플 단위 학습 (종료 조건 지정, NeuralNetwork 와 같은 에폭 루프)
+     */
+    public TrainingResult train(double[][] inputs, double[][] targets, StoppingCriteria criteria) {
+        if (inputs.length != targets.length) {
+            throw new IllegalArgumentException("입력 샘플 수와 타깃 샘플 수가 다릅니다.");
+        }
+        ensureWorkspace();
+        int nSamples = inputs.length;
+        double[] validationOutput = criteria.hasValidation()
+                ? new double[layers.get(layers.size() - 1).getOutputSize()]
+                : null;
+
+        return NeuralNetwork.runEpochs(criteria, () -> nSamples, () -> {
+            double totalLoss = 0.0;
+            for (int n = 0; n < nSamples; n++) {
+                totalLoss += trainSample(inputs[n], targets[n]);
+            }
+            return totalLoss;
+        }, listener != null, this::endEpoch, (xs, ts) -> validationLoss(xs, ts, validationOutput));
+    }
+
+    /**
+     * 샘플 하나로 순전파/역전파 후 손실 반환
+     */
+    private double trainSample(double[] x, double[] t) {
+        int last = layers.size() - 1;
+
+        // 순전파
+        double[] in = x;
+        for (int k = 0; k <= last; k++) {
+            layers.get(k).forward(in, outputs[k]);
+            in = outputs[k];
+        }
+
+        // 손실 계산과 출력 기울기, 역전파
+        double loss = lossFunction.loss(t, outputs[last]);
+        if (fusedOutput) {
+            ((FusedLoss) lossFunction).fusedDerivative(t, outputs[last], grads[last + 1]);
+        } else {
+            lossFunction.derivative(t, outputs[last], grads[last + 1]);
+        }
+        for (int k = last; k >= 0; k--) {
+            layers.get(k).backward(grads[k + 1], k > 0 ? grads[k] : null);
+        }
+        return loss;
+    }
+
+    private void endEpoch(int epoch, int epochs, double totalLoss, long nSamples, long startNanos) {
+        if (listener == null) {
+            return;
+        }
+        double avgLoss = nSamples == 0 ? 0.0 : totalLoss / nSamples;
+        listener.onEpochEnd(new EpochStats(epoch, epochs, avgLoss, nSamples,
+                System.nanoTime() - startNanos, null, null, Collections.emptyList()));
+    }
+
+    private double validationLoss(double[][] inputs, double[][] targets, double[] output) {
+        double total = 0.0;
+        for (int n = 0; n < inputs.length; n++) {
+            predict(inputs[n], output);
+            total += lossFunction.loss(targets[n], output);
+        }
+        return total / inputs.length;
+    }
+
+    private void ensureWorkspace() {
+        if (outputs != null) {
+            return;
+        }
+        outputs = new double[layers.size()][];
+        grads = new double[layers.size() + 1][];
+        for (int k = 0; k < layers.size(); k++) {
+            OffHeapDenseLayer layer = layers.get(k);
+            outputs[k] = new double[layer.getOutputSize()];
+            grads[k] = new double[layer.getInputSize()];
+        }
+        grads[layers.size()] = new double[layers.get(layers.size() - 1).getOutputSize()];
+    }
+
+    /**
+     * 읽기/쓰기 매핑의 변경 내용을 디스크에 기록 (복사했거나 읽기 전용이면 아무 일도 하지 않음)
+     */
+    public void force() {
+        for (OffHeapDenseLayer layer : layers) {
+            layer.force();
+        }
+    }
+
+    /**
+     * 모든 레이어의 버퍼를 해제하고 매핑을 닫음 (이후 predict/train 은 IllegalStateException)
+     * 레이어마다 진행 중인 추론이 끝나길 기다린 뒤 해제하므로 추론 스레드가 있어도 호출할 수 있음
+     * 쓰기 매핑은 닫기 전에 force() 로 기록
+     */
+    @Override
+    public void close() {
+        for (OffHeapDenseLayer layer : layers) {
+            layer.close();
+        }
+    }
+
+    /**
+     * 힙 밖에 둔 전체 파라미터 바이트 수
+     */
+    public long parameterBytes() {
+        long bytes = 0;
+        for (OffHeapDenseLayer layer : layers) {
+            bytes += layer.parameterBytes();
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * 파라미터 갱신 규칙
+ *
+ * 구현체는 하이퍼파라미터만 가지고, 버퍼별 상태(속도, 2차 모멘트 등)는 레이어가 보관하다가
+ * 첫 갱신 때 stateSlots() 개만큼 파라미터와 같은 크기로 할당해서 넘겨줌
+ * 그래서 같은 Optimizer 인스턴스를 여러 레이어가 함께 써도 됨
+ */
+public interface Optimizer {
+
+    /**
+     * 파라미터 버퍼 하나당 필요한 상태 배열 수 (SGD 0, 모멘텀 1, Adam 2)
+     */
+    int stateSlots();
+
+    /**
+     * params[offset..offset+length) 갱신
+     * 기울기는 gradScale * grads[gradOffset..], 상태 배열은 params 와 같은 인덱스(offset)를 사용
+     * step 은 레이어의 갱신 횟수 (1부터, Adam 편향 보정용)
+     */
+    void update(double[] params, int offset, double[] grads, int gradOffset, int length,
+                double learningRate, double gradScale, double[][] state, long step);
+
+    /**
+     * 흩어진 위치 갱신: params[base + indices[k]] 의 기울기는 gradScale * grads[gradOffset + k]
+     * 희소 입력에서 0 이 아닌 열만 갱신할 때 사용
+     */
+    default void updateSparse(double[] params, int base, int[] indices, double[] grads, int gradOffset, int count,
+                              double learningRate, double gradScale, double[][] state, long step) {
+        for (int k = 0; k < count; k++) {
+            update(params, base + indices[k], grads, gradOffset + k, 1, learningRate, gradScale, state, step);
+        }
+    }
+
+    /**
+     * params[index] 를 lastStep 다음부터 step 까지 기울기 0 으로 갱신한 상태로 맞춤
+     * 희소 입력에서 건너뛴 가중치를 다음에 읽기 직전에 한꺼번에 따라잡는 용도
+     * 기본 구현은 한 단계씩 적용하고, 닫힌 식이 있는 구현체는 재정의
+     */
+    default void catchUp(double[] params, int index, double[][] state, long lastStep, long step,
+                         double learningRate) {
+        // gradScale 이 0 이므로 grads 자리에는 아무 배열이나 넘겨도 됨
+        for (long s = lastStep + 1; s <= step; s++) {
+            update(params, index, params, index, 1, learningRate, 0.0, state, s);
+        }
+    }
+}
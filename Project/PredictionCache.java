@@ -0,0 +1,173 @@
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 크기 제한 LRU 예측 캐시
+ * 같은 입력이 반복될 때 신경망을 건너뛰고 저장된 출력을 돌려줌
+ * 학습으로 가중치가 바뀌면(NeuralNetwork.parameterVersion 변경) 저장된 결과를 모두 버림
+ * 여러 스레드에서 동시에 사용할 수 있도록 해시 기준으로 나눈 구간마다 따로 잠금
+ * 구간 용량의 합이 정확히 maxEntries 이므로 저장된 항목 수는 maxEntries 를 넘지 않음
+ */
+public class PredictionCache {
+
+    // 최대 구간 수 (2의 거듭제곱)
+    private static final int SEGMENTS = 16;
+
+    private final NeuralNetwork network;
+    private final Segment[] segments;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public PredictionCache(NeuralNetwork network, int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("캐시 크기는 1 이상이어야 합니다. maxEntries=" + maxEntries);
+        }
+        this.network = network;
+        // 구간마다 1개 이상 담을 수 있도록 구간 수를 줄이고, 나머지는 앞 구간부터 하나씩 더 배분
+        int count = Math.min(SEGMENTS, Integer.highestOneBit(maxEntries));
+        this.segments = new Segment[count];
+        for (int s = 0; s < count; s++) {
+            segments[s] = new Segment(maxEntries / count + (s < maxEntries % count ? 1 : 0));
+        }
+    }
+
+    /**
+     * 캐시를 거친 추론
+     */
+    public double[] predict(double[] input) {
+        Key key = new Key(input);
+        Segment segment = segments[(key.hash >>> 16 ^ key.hash) & (segments.length - 1)];
+        long version = network.parameterVersion();
+
+        double[] cached = segment.get(key, version);
+        if (cached != null) {
+            hits.increment();
+            return cached.clone();
+        }
+
+        misses.increment();
+        double[] output = network.predict(input);
+
+        // 계산 중에 가중치가 바뀌었으면 저장하지 않음
+        if (network.parameterVersion() == version) {
+            segment.put(key.copy(), output.clone(), version);
+        }
+        return output;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public double hitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * 입력 배열 키 (해시는 한 번만 계산)
+     * 조회할 때는 입력을 복사하지 않고, 저장할 때만 복사
+     */
+    private static final class Key {
+        private final double[] values;
+        private final int hash;
+
+        Key(double[] values) {
+            this.values = values;
+            this.hash = hash(values);
+        }
+
+        private Key(double[] values, int hash) {
+            this.values = values;
+            this.hash = hash;
+        }
+
+        Key copy() {
+            return new Key(values.clone(), hash);
+        }
+
+        private static int hash(double[] values) {
+            long h = 0x9E3779B97F4A7C15L;
+            for (double v : values) {
+                h = (h ^ Double.doubleToLongBits(v)) * 0xBF58476D1CE4E5B9L;
+            }
+            return (int) (h ^ (h >>> 32));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key
+                    && ((Key) other).hash == hash
+                    && Arrays.equals(((Key) other).values, values);
+        }
+    }
+
+    /**
+     * 접근 순서 LinkedHashMap 으로 만든 LRU 구간
+     */
+    private static final class Segment {
+        private final LinkedHashMap<Key, double[]> entries;
+        private long version = -1;
+
+        Segment(int capacity) {
+            this.entries = new LinkedHashMap<Key, double[]>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, double[]> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized double[] get(Key key, long currentVersion) {
+            if (version != currentVersion) {
+                entries.clear();
+                version = currentVersion;
+                return null;
+            }
+            return entries.get(key);
+        }
+
+        synchronized void put(Key key, double[] output, long currentVersion) {
+            if (version != currentVersion) {
+                entries.clear();
+                version = currentVersion;
+            }
+            entries.put(key, output);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        synchronized void clear() {
+            entries.clear();
+        }
+    }
+}
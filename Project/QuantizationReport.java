@@ -0,0 +1,75 @@
+/**
+ * 양자화 모델과 double 모델의 비교 결과
+ */
+public class QuantizationReport {
+
+    private final double maxAbsError;
+    private final double meanAbsError;
+    private final double agreement;
+    private final double referenceLoss;
+    private final double quantizedLoss;
+    private final long referenceBytes;
+    private final long quantizedBytes;
+
+    QuantizationReport(double maxAbsError, double meanAbsError, double agreement,
+                       double referenceLoss, double quantizedLoss, long referenceBytes, long quantizedBytes) {
+        this.maxAbsError = maxAbsError;
+        this.meanAbsError = meanAbsError;
+        this.agreement = agreement;
+        this.referenceLoss = referenceLoss;
+        this.quantizedLoss = quantizedLoss;
+        this.referenceBytes = referenceBytes;
+        this.quantizedBytes = quantizedBytes;
+    }
+
+    /**
+     * 출력값 최대 절대 오차
+     */
+    public double getMaxAbsError() {
+        return maxAbsError;
+    }
+
+    /**
+     * 출력값 평균 절대 오차
+     */
+    public double getMeanAbsError() {
+        return meanAbsError;
+    }
+
+    /**
+     * 예측 클래스가 같은 샘플 비율 (출력 하나면 0.5 기준)
+     */
+    public double getAgreement() {
+        return agreement;
+    }
+
+    /**
+     * double 모델 평균 손실 (타깃이 없으면 NaN)
+     */
+    public double getReferenceLoss() {
+        return referenceLoss;
+    }
+
+    /**
+     * 양자화 모델 평균 손실 (타깃이 없으면 NaN)
+     */
+    public double getQuantizedLoss() {
+        return quantizedLoss;
+    }
+
+    public long getReferenceBytes() {
+        return referenceBytes;
+    }
+
+    public long getQuantizedBytes() {
+        return quantizedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("QuantizationReport[maxErr=%.6f, meanErr=%.6f, agreement=%.4f, "
+                        + "loss=%.6f -> %.6f, bytes=%d -> %d]",
+                maxAbsError, meanAbsError, agreement, referenceLoss, quantizedLoss,
+                referenceBytes, quantizedBytes);
+    }
+}
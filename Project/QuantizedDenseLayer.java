@@ -0,0 +1,131 @@
+/**
+ * int8 추론 전용 완전연결 레이어
+ * 가중치는 출력 뉴런(채널)마다 scale 을 둔 대칭 int8, 입력은 보정 데이터로 정한 scale 하나로 int8 양자화
+ * 내적은 int 로 누적하고, 활성화 함수 직전에 weightScale * inputScale 을 곱해 double 로 되돌림
+ */
+public class QuantizedDenseLayer {
+
+    private static final int LEVELS = 127;
+
+    // int 누적이 넘치지 않는 최대 입력 크기 (127 * 127 * inputSize <= Integer.MAX_VALUE)
+    private static final int MAX_INPUT_SIZE = Integer.MAX_VALUE / (LEVELS * LEVELS);
+
+    private final int inputSize;
+    private final int outputSize;
+
+    // 가중치는 출력 뉴런 단위로 연속 저장: weights[o * inputSize + i]
+    private final byte[] weights;
+    private final double[] weightScales;
+    private final double[] biases;
+
+    private final double inputScale;
+    private final ActivationFunction activation;
+
+    private QuantizedDenseLayer(int inputSize, int outputSize, byte[] weights, double[] weightScales,
+                                double[] biases, double inputScale, ActivationFunction activation) {
+        this.inputSize = inputSize;
+        this.outputSize = outputSize;
+        this.weights = weights;
+        this.weightScales = weightScales;
+        this.biases = biases;
+        this.inputScale = inputScale;
+        this.activation = activation;
+    }
+
+    /**
+     * double 레이어를 양자화
+     * inputMaxAbs 는 보정 데이터에서 관측한 이 레이어 입력의 최대 절댓값
+     */
+    public static QuantizedDenseLayer from(DenseLayer layer, double inputMaxAbs) {
+        int inputSize = layer.getInputSize();
+        int outputSize = layer.getOutputSize();
+        if (inputSize > MAX_INPUT_SIZE) {
+            throw new IllegalArgumentException("입력 크기가 너무 큽니다. max=" + MAX_INPUT_SIZE
+                    + ", actual=" + inputSize);
+        }
+
+        double[] source = layer.weightArray();
+        byte[] weights = new byte[source.length];
+        double[] weightScales = new double[outputSize];
+
+        for (int o = 0; o < outputSize; o++) {
+            int base = o * inputSize;
+            double maxAbs = 0.0;
+            for (int i = 0; i < inputSize; i++) {
+                maxAbs = Math.max(maxAbs, Math.abs(source[base + i]));
+            }
+            // 모두 0 인 채널은 scale 1 로 두어 0 으로 나누지 않음
+            double scale = maxAbs > 0.0 ? maxAbs / LEVELS : 1.0;
+            weightScales[o] = scale;
+            for (int i = 0; i < inputSize; i++) {
+                weights[base + i] = quantize(source[base + i], scale);
+            }
+        }
+
+        double inputScale = inputMaxAbs > 0.0 ? inputMaxAbs / LEVELS : 1.0;
+        return new QuantizedDenseLayer(inputSize, outputSize, weights, weightScales,
+                layer.biasArray().clone(), inputScale, layer.getActivation());
+    }
+
+    private static byte quantize(double value, double scale) {
+        long q = Math.round(value / scale);
+        return (byte) Math.max(-LEVELS, Math.min(LEVELS, q));
+    }
+
+    /**
+     * 추론
+     * qInput 은 길이가 inputSize 인 작업 버퍼 (호출자마다 따로 두면 여러 스레드에서 동시에 호출할 수 있음)
+     */
+    public void infer(double[] input, byte[] qInput, double[] out) {
+        if (input.length != inputSize) {
+            throw new IllegalArgumentException("입력 크기가 잘못되었습니다. expected="
+                    + inputSize + ", actual=" + input.length);
+        }
+        if (qInput.length != inputSize) {
+            throw new IllegalArgumentException("양자화 입력 버퍼 크기가 잘못되었습니다. expected="
+                    + inputSize + ", actual=" + qInput.length);
+        }
+        if (out.length < outputSize) {
+            throw new IllegalArgumentException("출력 크기가 잘못되었습니다. expected="
+                    + outputSize + ", actual=" + out.length);
+        }
+
+        // 입력 양자화 (보정 범위를 벗어난 값은 잘림)
+        for (int i = 0; i < inputSize; i++) {
+            qInput[i] = quantize(input[i], inputScale);
+        }
+
+        for (int o = 0; o < outputSize; o++) {
+            int base = o * inputSize;
+            int acc = 0;
+            for (int i = 0; i < inputSize; i++) {
+                acc += weights[base + i] * qInput[i];
+            }
+            out[o] = biases[o] + acc * (weightScales[o] * inputScale);
+        }
+        activation.activate(out, out, outputSize);
+    }
+
+    /**
+     * 가중치와 scale, 바이어스가 차지하는 바이트 수
+     */
+    public long parameterBytes() {
+        return weights.length + (long) (weightScales.length + biases.length) * Double.BYTES;
+    }
+
+    public double getInputScale() {
+        return inputScale;
+    }
+
+    public ActivationFunction getActivation() {
+        return activation;
+    }
+
+    public int getInputSize() {
+        return inputSize;
+    }
+
+    public int getOutputSize() {
+        return outputSize;
+    }
+}
@@ -0,0 +1,185 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * int8 양자화 신경망 (추론 전용)
+ * NeuralNetwork.quantize(calibrationInputs) 로 학습된 double 모델에서 변환
+ */
+public class QuantizedNeuralNetwork {
+
+    private final List<QuantizedDenseLayer> layers;
+
+    // 추론 전용 스레드별 버퍼: 레이어 출력과 레이어별 양자화된 입력
+    private final ThreadLocal<double[][]> outputScratch;
+    private final ThreadLocal<byte[][]> inputScratch;
+
+    private QuantizedNeuralNetwork(List<QuantizedDenseLayer> layers) {
+        this.layers = layers;
+        this.outputScratch = ThreadLocal.withInitial(this::newOutputScratch);
+        this.inputScratch = ThreadLocal.withInitial(this::newInputScratch);
+    }
+
+    /**
+     * 보정 데이터로 레이어마다 입력 범위를 측정한 뒤 양자화
+     * 보정 데이터는 실제 입력 분포를 대표하는 샘플이어야 함 (범위를 벗어난 입력은 잘림)
+     */
+    public static QuantizedNeuralNetwork quantize(NeuralNetwork network, double[][] calibrationInputs) {
+        List<DenseLayer> source = network.getLayers();
+        if (source.isEmpty()) {
+            throw new IllegalStateException("레이어가 없습니다.");
+        }
+        if (calibrationInputs.length == 0) {
+            throw new IllegalArgumentException("보정 데이터가 없습니다.");
+        }
+
+        // 레이어 k 의 입력 최대 절댓값 (k = 0 은 네트워크 입력)
+        double[] inputMaxAbs = new double[source.size()];
+        double[][] activations = new double[source.size()][];
+        for (int k = 0; k < source.size(); k++) {
+            activations[k] = new double[source.get(k).getOutputSize()];
+        }
+
+        for (double[] x : calibrationInputs) {
+            double[] in = x;
+            for (int k = 0; k < source.size(); k++) {
+                inputMaxAbs[k] = Math.max(inputMaxAbs[k], maxAbs(in));
+                source.get(k).infer(in, activations[k]);
+                in = activations[k];
+            }
+        }
+
+        List<QuantizedDenseLayer> layers = new ArrayList<>();
+        for (int k = 0; k < source.size(); k++) {
+            layers.add(QuantizedDenseLayer.from(source.get(k), inputMaxAbs[k]));
+        }
+        return new QuantizedNeuralNetwork(Collections.unmodifiableList(layers));
+    }
+
+    private static double maxAbs(double[] values) {
+        double max = 0.0;
+        for (double v : values) {
+            max = Math.max(max, Math.abs(v));
+        }
+        return max;
+    }
+
+    public List<QuantizedDenseLayer> getLayers() {
+        return layers;
+    }
+
+    /**
+     * 추론
+     * 여러 스레드에서 동시에 호출할 수 있음
+     */
+    public double[] predict(double[] input) {
+        double[] output = new double[layers.get(layers.size() - 1).getOutputSize()];
+        predict(input, output);
+        return output;
+    }
+
+    /**
+     * 추론 (출력 버퍼 재사용)
+     */
+    public void predict(double[] input, double[] out) {
+        double[][] scratch = outputScratch.get();
+        byte[][] qInputs = inputScratch.get();
+        double[] x = input;
+        int last = layers.size() - 1;
+        for (int k = 0; k < last; k++) {
+            layers.get(k).infer(x, qInputs[k], scratch[k]);
+            x = scratch[k];
+        }
+        layers.get(last).infer(x, qInputs[last], out);
+    }
+
+    private double[][] newOutputScratch() {
+        double[][] scratch = new double[layers.size()][];
+        for (int k = 0; k < layers.size(); k++) {
+            scratch[k] = new double[layers.get(k).getOutputSize()];
+        }
+        return scratch;
+    }
+
+    private byte[][] newInputScratch() {
+        byte[][] scratch = new byte[layers.size()][];
+        for (int k = 0; k < layers.size(); k++) {
+            scratch[k] = new byte[layers.get(k).getInputSize()];
+        }
+        return scratch;
+    }
+
+    /**
+     * 전체 파라미터 바이트 수
+     */
+    public long parameterBytes() {
+        long bytes = 0;
+        for (QuantizedDenseLayer layer : layers) {
+            bytes += layer.parameterBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * double 모델과 정확도 비교
+     * targets 가 있으면 두 모델의 평균 손실도 함께 계산 (없으면 null)
+     */
+    public static QuantizationReport compare(NeuralNetwork reference, QuantizedNeuralNetwork quantized,
+                                             double[][] inputs, double[][] targets) {
+        if (targets != null && targets.length != inputs.length) {
+            throw new IllegalArgumentException("입력 샘플 수와 타깃 샘플 수가 다릅니다.");
+        }
+        LossFunction lossFunction = reference.getLossFunction();
+
+        double maxError = 0.0;
+        double sumError = 0.0;
+        long count = 0;
+        int agreements = 0;
+        double referenceLoss = 0.0;
+        double quantizedLoss = 0.0;
+
+        for (int n = 0; n < inputs.length; n++) {
+            double[] expected = reference.predict(inputs[n]);
+            double[] actual = quantized.predict(inputs[n]);
+            for (int o = 0; o < expected.length; o++) {
+                double error = Math.abs(expected[o] - actual[o]);
+                maxError = Math.max(maxError, error);
+                sumError += error;
+                count++;
+            }
+            if (predictedClass(expected) == predictedClass(actual)) {
+                agreements++;
+            }
+            if (targets != null) {
+                referenceLoss += lossFunction.loss(targets[n], expected);
+                quantizedLoss += lossFunction.loss(targets[n], actual);
+            }
+        }
+
+        long referenceBytes = 0;
+        for (DenseLayer layer : reference.getLayers()) {
+            referenceBytes += (long) (layer.getInputSize() + 1) * layer.getOutputSize() * Double.BYTES;
+        }
+
+        int n = inputs.length;
+        return new QuantizationReport(maxError, count == 0 ? 0.0 : sumError / count,
+                n == 0 ? 1.0 : (double) agreements / n,
+                targets != null && n > 0 ? referenceLoss / n : Double.NaN,
+                targets != null && n > 0 ? quantizedLoss / n : Double.NaN,
+                referenceBytes, quantized.parameterBytes());
+    }
+
+    // 출력이 하나면 0.5 기준 이진 분류, 여러 개면 최댓값 인덱스
+    private static int predictedClass(double[] output) {
+        if (output.length == 1) {
+            return output[0] >= 0.5 ? 1 : 0;
+        }
+        int best = 0;
+        for (int o = 1; o < output.length; o++) {
+            if (output[o] > output[best]) {
+                best = o;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * RMSProp
+ * s = decay * s + (1 - decay) * g^2, w -= lr * g / (sqrt(s) + epsilon)
+ */
+public class RmsPropOptimizer implements Optimizer {
+
+    private final double decay;
+    private final double epsilon;
+
+    public RmsPropOptimizer() {
+        this(0.9, 1e-8);
+    }
+
+    public RmsPropOptimizer(double decay, double epsilon) {
+        if (decay < 0.0 || decay >= 1.0) {
+            throw new IllegalArgumentException("decay 는 0 이상 1 미만이어야 합니다. decay=" + decay);
+        }
+        this.decay = decay;
+        this.epsilon = epsilon;
+    }
+
+    @Override
+    public int stateSlots() {
+        return 1;
+    }
+
+    @Override
+    public void update(double[] params, int offset, double[] grads, int gradOffset, int length,
+                       double learningRate, double gradScale, double[][] state, long step) {
+        double[] meanSquare = state[0];
+        double keep = 1.0 - decay;
+
+        for (int k = 0; k < length; k++) {
+            int idx = offset + k;
+            double g = gradScale * grads[gradOffset + k];
+            double s = decay * meanSquare[idx] + keep * g * g;
+            meanSquare[idx] = s;
+            params[idx] -= learningRate * g / (Math.sqrt(s) + epsilon);
+        }
+    }
+
+    public double getDecay() {
+        return decay;
+    }
+
+    public double getEpsilon() {
+        return epsilon;
+    }
+}
@@ -1,12 +1,18 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 public class Run {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         int inputSize = 2;
         int hiddenSize = 4;
         int outputSize = 1;
         double learningRate = 0.5;
         double momentum = 0.9;
         int epochs = 100000;
+        double targetLoss = 1e-4;
 
         ActivationFunction sigmoid = new SigmoidActivation();
         LossFunction mse = new MeanSquaredError();
@@ -32,14 +38,29 @@ public class Run {
                 {0.0}
         };
 
-        System.out.println("=== 학습 시작 ===");
-        nn.train(inputs, targets, epochs);
-        System.out.println("=== 학습 종료 ===\n");
+        // 모델 파일 경로를 주면 저장된 모델을 불러오고, 없으면 학습 후 저장
+        Path modelPath = args.length > 0 ? Paths.get(args[0]) : null;
+
+        if (modelPath != null && Files.exists(modelPath)) {
+            nn = ModelIO.load(modelPath);
+            System.out.println("=== 모델 불러옴: " + modelPath + " ===\n");
+        } else {
+            System.out.println("=== 학습 시작 ===");
+            nn.setTrainingListener(new ConsoleTrainingListener(500));
+            TrainingResult result = nn.train(inputs, targets,
+                    StoppingCriteria.maxEpochs(epochs).targetLoss(targetLoss));
+            System.out.println("=== 학습 종료: " + result + " ===\n");
+
+            if (modelPath != null) {
+                ModelIO.save(nn, modelPath);
+                System.out.println("=== 모델 저장: " + modelPath + " ===\n");
+            }
+        }
 
         System.out.println("=== XOR 테스트 ===");
         for (int i = 0; i < inputs.length; i++) {
             double[] x = inputs[i];
-            double[] y = nn.forward(x);
+            double[] y = nn.predict(x);
             System.out.printf("입력: (%.1f, %.1f) -> 출력: %.5f%n", x[0], x[1], y[0]);
         }
     }
@@ -0,0 +1,30 @@
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 학습 샘플 스트림
+ * 데이터셋 전체를 메모리에 올리지 않고 샘플을 하나씩 읽어 오는 규약
+ */
+public interface SampleSource extends Closeable {
+
+    /**
+     * 입력 벡터 길이
+     */
+    int inputSize();
+
+    /**
+     * 타깃 벡터 길이
+     */
+    int targetSize();
+
+    /**
+     * 처음 샘플로 되돌림 (에폭 시작마다 호출)
+     */
+    void reset() throws IOException;
+
+    /**
+     * 다음 샘플을 input/target 에 채움
+     * 더 이상 샘플이 없으면 false
+     */
+    boolean next(double[] input, double[] target) throws IOException;
+}
@@ -0,0 +1,9 @@
+/**
+ * 로더 스레드에서 샘플마다 적용하는 전처리 (정규화, 인코딩 등)
+ * input/target 을 제자리에서 바꿈
+ */
+@FunctionalInterface
+public interface SampleTransform {
+
+    void apply(double[] input, double[] target);
+}
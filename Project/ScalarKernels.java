@@ -0,0 +1,94 @@
+import java.nio.ByteBuffer;
+
+/**
+ * DenseKernels 스칼라 구현
+ */
+public final class ScalarKernels implements DenseKernels {
+
+    @Override
+    public double dot(double[] a, int aOffset, double[] b, int bOffset, int length) {
+        double sum = 0.0;
+        for (int k = 0; k < length; k++) {
+            sum += a[aOffset + k] * b[bOffset + k];
+        }
+        return sum;
+    }
+
+    @Override
+    public void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, int length) {
+        for (int k = 0; k < length; k++) {
+            y[yOffset + k] += alpha * x[xOffset + k];
+        }
+    }
+
+    @Override
+    public void momentumUpdate(double[] w, double[] v, int wOffset, double[] g, int gOffset, int length,
+                               double momentum, double scale) {
+        for (int k = 0; k < length; k++) {
+            int idx = wOffset + k;
+            v[idx] = momentum * v[idx] - scale * g[gOffset + k];
+            w[idx] += v[idx];
+        }
+    }
+
+    @Override
+    public double dot(ByteBuffer a, int aIndex, double[] b, int bOffset, int length) {
+        double sum = 0.0;
+        for (int k = 0; k < length; k++) {
+            sum += a.getDouble((aIndex + k) * Double.BYTES) * b[bOffset + k];
+        }
+        return sum;
+    }
+
+    @Override
+    public void axpy(double alpha, ByteBuffer x, int xIndex, double[] y, int yOffset, int length) {
+        for (int k = 0; k < length; k++) {
+            y[yOffset + k] += alpha * x.getDouble((xIndex + k) * Double.BYTES);
+        }
+    }
+
+    @Override
+    public void axpy(double alpha, double[] x, int xOffset, ByteBuffer y, int yIndex, int length) {
+        for (int k = 0; k < length; k++) {
+            int pos = (yIndex + k) * Double.BYTES;
+            y.putDouble(pos, y.getDouble(pos) + alpha * x[xOffset + k]);
+        }
+    }
+
+    @Override
+    public void momentumUpdate(ByteBuffer w, ByteBuffer v, int index, double[] g, int gOffset, int length,
+                               double momentum, double scale) {
+        for (int k = 0; k < length; k++) {
+            int pos = (index + k) * Double.BYTES;
+            double velocity = momentum * v.getDouble(pos) - scale * g[gOffset + k];
+            v.putDouble(pos, velocity);
+            w.putDouble(pos, w.getDouble(pos) + velocity);
+        }
+    }
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float sum = 0.0f;
+        for (int k = 0; k < length; k++) {
+            sum += a[aOffset + k] * b[bOffset + k];
+        }
+        return sum;
+    }
+
+    @Override
+    public void axpy(float alpha, float[] x, int xOffset, float[] y, int yOffset, int length) {
+        for (int k = 0; k < length; k++) {
+            y[yOffset + k] += alpha * x[xOffset + k];
+        }
+    }
+
+    @Override
+    public void momentumUpdate(float[] w, float[] v, int wOffset, float[] g, int gOffset, int length,
+                               float momentum, float scale) {
+        for (int k = 0; k < length; k++) {
+            int idx = wOffset + k;
+            v[idx] = momentum * v[idx] - scale * g[gOffset + k];
+            w[idx] += v[idx];
+        }
+    }
+}
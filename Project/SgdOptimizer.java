@@ -0,0 +1,24 @@
+/**
+ * 확률적 경사 하강법: w -= lr * g (상태 없음)
+ */
+public class SgdOptimizer implements Optimizer {
+
+    private static final DenseKernels KERNELS = DenseKernels.load();
+
+    @Override
+    public int stateSlots() {
+        return 0;
+    }
+
+    @Override
+    public void update(double[] params, int offset, double[] grads, int gradOffset, int length,
+                       double learningRate, double gradScale, double[][] state, long step) {
+        KERNELS.axpy(-learningRate * gradScale, grads, gradOffset, params, offset, length);
+    }
+
+    @Override
+    public void catchUp(double[] params, int index, double[][] state, long lastStep, long step,
+                        double learningRate) {
+        // 기울기가 0 이면 변화 없음
+    }
+}
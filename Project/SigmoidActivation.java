@@ -9,4 +9,19 @@ public class SigmoidActivation implements ActivationFunction {
     public double derivative(double y) {
         return y * (1.0 - y);
     }
+
+    @Override
+    public void activate(double[] in, double[] out, int len) {
+        for (int k = 0; k < len; k++) {
+            out[k] = 1.0 / (1.0 + Math.exp(-in[k]));
+        }
+    }
+
+    @Override
+    public void derivativeInPlace(double[] activated, double[] grad, int len) {
+        for (int k = 0; k < len; k++) {
+            double y = activated[k];
+            grad[k] *= y * (1.0 - y);
+        }
+    }
 }
@@ -0,0 +1,84 @@
+/**
+ * 소프트맥스 출력층 활성화
+ * 한 출력이 같은 행의 모든 net 값에 의존하므로 배열 단위로만 계산 가능 (행마다 최댓값을 빼서 exp 오버플로 방지)
+ * CrossEntropy 손실과 함께 쓰면 네트워크가 활성화 미분을 건너뛰고 y - t 를 바로 사용
+ *
+ * 원소 단위 함수가 아니므로(isElementWise false) 네트워크는 출력층에만 허용하고 배열 단위 메서드만 호출함
+ * 스칼라 activate/derivative 는 정의할 수 없어 직접 호출하면 IllegalStateException
+ */
+public class SoftmaxActivation implements ActivationFunction {
+
+    @Override
+    public boolean isElementWise() {
+        return false;
+    }
+
+    @Override
+    public double activate(double x) {
+        throw new IllegalStateException("소프트맥스는 원소 단위로 계산할 수 없습니다.");
+    }
+
+    @Override
+    public double derivative(double y) {
+        throw new IllegalStateException("소프트맥스는 원소 단위로 계산할 수 없습니다.");
+    }
+
+    /**
+     * 길이 len 인 출력 벡터 하나에 대한 소프트맥스
+     */
+    @Override
+    public void activate(double[] in, double[] out, int len) {
+        softmax(in, out, 0, len);
+    }
+
+    @Override
+    public void activate(double[] in, double[] out, int rows, int width) {
+        for (int r = 0; r < rows; r++) {
+            softmax(in, out, r * width, width);
+        }
+    }
+
+    /**
+     * 야코비안 곱: grad[k] = y[k] * (grad[k] - sum_j grad[j] * y[j])
+     */
+    @Override
+    public void derivativeInPlace(double[] activated, double[] grad, int len) {
+        jacobian(activated, grad, 0, len);
+    }
+
+    @Override
+    public void derivativeInPlace(double[] activated, double[] grad, int rows, int width) {
+        for (int r = 0; r < rows; r++) {
+            jacobian(activated, grad, r * width, width);
+        }
+    }
+
+    private static void softmax(double[] in, double[] out, int offset, int width) {
+        int end = offset + width;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int k = offset; k < end; k++) {
+            max = Math.max(max, in[k]);
+        }
+        double sum = 0.0;
+        for (int k = offset; k < end; k++) {
+            double e = Math.exp(in[k] - max);
+            out[k] = e;
+            sum += e;
+        }
+        double inv = 1.0 / sum;
+        for (int k = offset; k < end; k++) {
+            out[k] *= inv;
+        }
+    }
+
+    private static void jacobian(double[] y, double[] grad, int offset, int width) {
+        int end = offset + width;
+        double dot = 0.0;
+        for (int k = offset; k < end; k++) {
+            dot += grad[k] * y[k];
+        }
+        for (int k = offset; k < end; k++) {
+            grad[k] = y[k] * (grad[k] - dot);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 가지친 신경망의 추론 전용 표현 (모든 레이어가 CSR)
+ * NeuralNetwork.toSparse() 로 변환
+ */
+public class SparseNeuralNetwork {
+
+    private final List<CsrDenseLayer> layers;
+
+    // 추론 전용 스레드별 중간 버퍼
+    private final ThreadLocal<double[][]> inferenceScratch = ThreadLocal.withInitial(this::newInferenceScratch);
+
+    SparseNeuralNetwork(List<DenseLayer> source) {
+        if (source.isEmpty()) {
+            throw new IllegalStateException("레이어가 없습니다.");
+        }
+        List<CsrDenseLayer> converted = new ArrayList<>();
+        for (DenseLayer layer : source) {
+            converted.add(CsrDenseLayer.from(layer));
+        }
+        this.layers = Collections.unmodifiableList(converted);
+    }
+
+    public List<CsrDenseLayer> getLayers() {
+        return layers;
+    }
+
+    /**
+     * 추론
+     * 여러 스레드에서 동시에 호출할 수 있음
+     */
+    public double[] predict(double[] input) {
+        double[] output = new double[layers.get(layers.size() - 1).getOutputSize()];
+        predict(input, output);
+        return output;
+    }
+
+    /**
+     * 추론 (출력 버퍼 재사용)
+     */
+    public void predict(double[] input, double[] out) {
+        double[][] scratch = inferenceScratch.get();
+        double[] x = input;
+        int last = layers.size() - 1;
+        for (int k = 0; k < last; k++) {
+            layers.get(k).infer(x, scratch[k]);
+            x = scratch[k];
+        }
+        layers.get(last).infer(x, out);
+    }
+
+    private double[][] newInferenceScratch() {
+        double[][] scratch = new double[layers.size()][];
+        for (int k = 0; k < layers.size(); k++) {
+            scratch[k] = new double[layers.get(k).getOutputSize()];
+        }
+        return scratch;
+    }
+
+    /**
+     * 전체 파라미터 바이트 수
+     */
+    public long parameterBytes() {
+        long bytes = 0;
+        for (CsrDenseLayer layer : layers) {
+            bytes += layer.parameterBytes();
+        }
+        return bytes;
+    }
+}
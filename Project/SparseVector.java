@@ -0,0 +1,100 @@
+/**
+ * 희소 입력 벡터 (0 이 아닌 값만 저장)
+ * indices 는 오름차순이고 중복이 없어야 함. 배열은 복사하지 않고 그대로 참조
+ */
+public class SparseVector {
+
+    private final int size;
+    private final int[] indices;
+    private final double[] values;
+    private final int nonZeros;
+
+    public SparseVector(int size, int[] indices, double[] values) {
+        this(size, indices, values, indices.length);
+    }
+
+    /**
+     * indices/values 의 앞 nonZeros 개만 사용 (버퍼 재사용용)
+     */
+    public SparseVector(int size, int[] indices, double[] values, int nonZeros) {
+        if (nonZeros < 0 || nonZeros > indices.length || nonZeros > values.length) {
+            throw new IllegalArgumentException("nonZeros 가 잘못되었습니다. nonZeros=" + nonZeros);
+        }
+        checkIndices(size, indices, 0, nonZeros);
+        this.size = size;
+        this.indices = indices;
+        this.values = values;
+        this.nonZeros = nonZeros;
+    }
+
+    /**
+     * 밀집 배열에서 0 이 아닌 값만 골라 생성
+     */
+    public static SparseVector fromDense(double[] dense) {
+        int count = 0;
+        for (double v : dense) {
+            if (v != 0.0) {
+                count++;
+            }
+        }
+        int[] indices = new int[count];
+        double[] values = new double[count];
+        int k = 0;
+        for (int i = 0; i < dense.length; i++) {
+            if (dense[i] != 0.0) {
+                indices[k] = i;
+                values[k] = dense[i];
+                k++;
+            }
+        }
+        return new SparseVector(dense.length, indices, values);
+    }
+
+    static void checkIndices(int size, int[] indices, int from, int to) {
+        int previous = -1;
+        for (int k = from; k < to; k++) {
+            int index = indices[k];
+            if (index <= previous || index >= size) {
+                throw new IllegalArgumentException("희소 인덱스가 잘못되었습니다. index=" + index
+                        + ", size=" + size);
+            }
+            previous = index;
+        }
+    }
+
+    public double[] toDense() {
+        double[] dense = new double[size];
+        for (int k = 0; k < nonZeros; k++) {
+            dense[indices[k]] = values[k];
+        }
+        return dense;
+    }
+
+    /**
+     * 값들의 제곱합
+     */
+    public double squaredNorm() {
+        double sum = 0.0;
+        for (int k = 0; k < nonZeros; k++) {
+            sum += values[k] * values[k];
+        }
+        return sum;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getNonZeros() {
+        return nonZeros;
+    }
+
+    // 레이어 내부 루프용 (복사하지 않음)
+    int[] indexArray() {
+        return indices;
+    }
+
+    double[] valueArray() {
+        return values;
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * 학습 종료 조건
+ * 최대 에폭 수는 항상 적용되고, 목표 손실/검증 정체/시간 예산은 설정한 것만 적용
+ *
+ * 예: StoppingCriteria.maxEpochs(100000).targetLoss(1e-4).timeBudgetMillis(2000)
+ */
+public class StoppingCriteria {
+
+    private final int maxEpochs;
+    private double targetLoss = Double.NEGATIVE_INFINITY;
+    private long timeBudgetNanos = Long.MAX_VALUE;
+
+    private double[][] validationInputs;
+    private double[][] validationTargets;
+    private int patience;
+    private double minDelta;
+
+    private StoppingCriteria(int maxEpochs) {
+        if (maxEpochs <= 0) {
+            throw new IllegalArgumentException("최대 에폭 수는 1 이상이어야 합니다. maxEpochs=" + maxEpochs);
+        }
+        this.maxEpochs = maxEpochs;
+    }
+
+    public static StoppingCriteria maxEpochs(int maxEpochs) {
+        return new StoppingCriteria(maxEpochs);
+    }
+
+    /**
+     * 에폭 평균 학습 손실이 targetLoss 이하가 되면 종료
+     */
+    public StoppingCriteria targetLoss(double targetLoss) {
+        this.targetLoss = targetLoss;
+        return this;
+    }
+
+    /**
+     * 검증 손실이 patience 에폭 동안 minDelta 보다 많이 줄지 않으면 종료
+     */
+    public StoppingCriteria validation(double[][] inputs, double[][] targets, int patience, double minDelta) {
+        if (inputs.length != targets.length || inputs.length == 0) {
+            throw new IllegalArgumentException("검증 데이터가 잘못되었습니다.");
+        }
+        if (patience <= 0) {
+            throw new IllegalArgumentException("patience 는 1 이상이어야 합니다. patience=" + patience);
+        }
+        this.validationInputs = inputs;
+        this.validationTargets = targets;
+        this.patience = patience;
+        this.minDelta = minDelta;
+        return this;
+    }
+
+    /**
+     * 학습 시작 후 millis 가 지나면 현재 에폭을 마치고 종료
+     */
+    public StoppingCriteria timeBudgetMillis(long millis) {
+        if (millis <= 0) {
+            throw new IllegalArgumentException("시간 예산은 1ms 이상이어야 합니다. millis=" + millis);
+        }
+        this.timeBudgetNanos = millis * 1_000_000L;
+        return this;
+    }
+
+    public int getMaxEpochs() {
+        return maxEpochs;
+    }
+
+    public double getTargetLoss() {
+        return targetLoss;
+    }
+
+    public long getTimeBudgetNanos() {
+        return timeBudgetNanos;
+    }
+
+    public boolean hasValidation() {
+        return validationInputs != null;
+    }
+
+    double[][] getValidationInputs() {
+        return validationInputs;
+    }
+
+    double[][] getValidationTargets() {
+        return validationTargets;
+    }
+
+    public int getPatience() {
+        return patience;
+    }
+
+    public double getMinDelta() {
+        return minDelta;
+    }
+}
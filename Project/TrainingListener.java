@@ -0,0 +1,19 @@
+/**
+ * 학습 진행 상황 수신
+ * 리스너가 없으면 학습 루프는 측정이나 출력을 전혀 하지 않음
+ */
+public interface TrainingListener {
+
+    /**
+     * 에폭이 끝날 때마다 호출
+     */
+    void onEpochEnd(EpochStats stats);
+
+    /**
+     * 레이어별 순전파/역전파 시간을 측정할지 여부
+     * 측정하면 레이어마다 System.nanoTime 호출이 추가되므로 필요할 때만 true
+     */
+    default boolean wantsLayerTimings() {
+        return false;
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * 학습 결과: 종료 이유와 마지막 상태
+ */
+public class TrainingResult {
+
+    /**
+     * 학습 종료 이유
+     */
+    public enum StopReason {
+        MAX_EPOCHS,
+        TARGET_LOSS,
+        PLATEAU,
+        TIME_BUDGET
+    }
+
+    private final StopReason reason;
+    private final int epochs;
+    private final double finalLoss;
+    private final double bestValidationLoss;
+    private final long elapsedNanos;
+
+    TrainingResult(StopReason reason, int epochs, double finalLoss, double bestValidationLoss, long elapsedNanos) {
+        this.reason = reason;
+        this.epochs = epochs;
+        this.finalLoss = finalLoss;
+        this.bestValidationLoss = bestValidationLoss;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public StopReason getReason() {
+        return reason;
+    }
+
+    /**
+     * 실제로 수행한 에폭 수
+     */
+    public int getEpochs() {
+        return epochs;
+    }
+
+    /**
+     * 마지막 에폭의 평균 학습 손실
+     */
+    public double getFinalLoss() {
+        return finalLoss;
+    }
+
+    /**
+     * 가장 낮았던 검증 손실 (검증 데이터가 없으면 NaN)
+     */
+    public double getBestValidationLoss() {
+        return bestValidationLoss;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TrainingResult[reason=%s, epochs=%d, loss=%.6f, validation=%.6f, %.1fms]",
+                reason, epochs, finalLoss, bestValidationLoss, elapsedNanos / 1e6);
+    }
+}
@@ -0,0 +1,69 @@
+import java.util.Arrays;
+
+/**
+ * 하이퍼파라미터 탐색의 한 후보 설정
+ * 시드는 후보마다 따로 두어 가중치 초기화가 다른 후보나 실행 순서에 영향을 받지 않음
+ */
+public class TrialConfig {
+
+    private final double learningRate;
+    private final double momentum;
+    private final int[] hiddenSizes;
+    private final long seed;
+
+    public TrialConfig(double learningRate, double momentum, int[] hiddenSizes, long seed) {
+        if (!(learningRate > 0.0)) {
+            throw new IllegalArgumentException("학습률은 0보다 커야 합니다. learningRate=" + learningRate);
+        }
+        if (momentum < 0.0 || momentum >= 1.0) {
+            throw new IllegalArgumentException("모멘텀은 0 이상 1 미만이어야 합니다. momentum=" + momentum);
+        }
+        for (int size : hiddenSizes) {
+            if (size <= 0) {
+                throw new IllegalArgumentException("은닉층 크기는 1 이상이어야 합니다. hiddenSizes="
+                        + Arrays.toString(hiddenSizes));
+            }
+        }
+        this.learningRate = learningRate;
+        this.momentum = momentum;
+        this.hiddenSizes = hiddenSizes.clone();
+        this.seed = seed;
+    }
+
+    /**
+     * 설정대로 새 네트워크 생성 (레이어 k 는 seed + k 로 초기화)
+     */
+    public NeuralNetwork build(int inputSize, int outputSize,
+                               ActivationFunction activation, LossFunction lossFunction) {
+        NeuralNetwork nn = new NeuralNetwork(lossFunction);
+        int in = inputSize;
+        for (int k = 0; k <= hiddenSizes.length; k++) {
+            int out = k < hiddenSizes.length ? hiddenSizes[k] : outputSize;
+            nn.addLayer(new DenseLayer(in, out, activation, learningRate, momentum, seed + k));
+            in = out;
+        }
+        return nn;
+    }
+
+    public double getLearningRate() {
+        return learningRate;
+    }
+
+    public double getMomentum() {
+        return momentum;
+    }
+
+    public int[] getHiddenSizes() {
+        return hiddenSizes.clone();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TrialConfig[lr=%.4g, momentum=%.3f, hidden=%s, seed=%d]",
+                learningRate, momentum, Arrays.toString(hiddenSizes), seed);
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * 하이퍼파라미터 탐색 후보 하나의 결과
+ * 연속 반감 탐색에서는 살아남은 단계마다 이어서 학습하므로 에폭/시간은 누적값
+ */
+public class TrialResult {
+
+    private final TrialConfig config;
+    private final NeuralNetwork network;
+
+    private int epochs;
+    private int rungs;
+    private double score = Double.NaN;
+    private long elapsedNanos;
+    private TrainingResult lastResult;
+
+    TrialResult(TrialConfig config, NeuralNetwork network) {
+        this.config = config;
+        this.network = network;
+    }
+
+    void record(TrainingResult result, double score) {
+        this.epochs += result.getEpochs();
+        this.elapsedNanos += result.getElapsedNanos();
+        this.rungs++;
+        this.score = score;
+        this.lastResult = result;
+    }
+
+    /**
+     * 목표 손실에 도달해 더 학습할 필요가 없는지
+     */
+    boolean isConverged() {
+        return lastResult != null && lastResult.getReason() == TrainingResult.StopReason.TARGET_LOSS;
+    }
+
+    public TrialConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * 학습된 네트워크 (탐색이 끝난 뒤 그대로 사용 가능)
+     */
+    public NeuralNetwork getNetwork() {
+        return network;
+    }
+
+    public int getEpochs() {
+        return epochs;
+    }
+
+    /**
+     * 학습한 단계 수 (연속 반감에서 몇 단계까지 살아남았는지)
+     */
+    public int getRungs() {
+        return rungs;
+    }
+
+    /**
+     * 평가 손실 (검증 데이터가 있으면 검증 손실, 없으면 학습 데이터 손실)
+     */
+    public double getScore() {
+        return score;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public TrainingResult getLastResult() {
+        return lastResult;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TrialResult[%s, score=%.6f, epochs=%d, rungs=%d, %.1fms]",
+                config, score, epochs, rungs, elapsedNanos / 1e6);
+    }
+}
@@ -0,0 +1,199 @@
+import java.nio.ByteBuffer;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * DenseKernels SIMD 구현 (jdk.incubator.vector)
+ * 이 파일만 모듈 옵션이 필요하므로 따로 둠:
+ *   javac --add-modules jdk.incubator.vector -d out Project/*.java Project/simd/*.java
+ *   java --add-modules jdk.incubator.vector -cp out Run
+ * 모듈 없이 빌드/실행하면 DenseKernels.load() 가 스칼라 구현을 사용
+ */
+public final class SimdKernels implements DenseKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> FLOAT_SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public double dot(double[] a, int aOffset, double[] b, int bOffset, int length) {
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        int bound = SPECIES.loopBound(length);
+        int k = 0;
+        for (; k < bound; k += SPECIES.length()) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, aOffset + k);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bOffset + k);
+            acc = va.fma(vb, acc);
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; k < length; k++) {
+            sum += a[aOffset + k] * b[bOffset + k];
+        }
+        return sum;
+    }
+
+    @Override
+    public void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, int length) {
+        DoubleVector va = DoubleVector.broadcast(SPECIES, alpha);
+        int bound = SPECIES.loopBound(length);
+        int k = 0;
+        for (; k < bound; k += SPECIES.length()) {
+            DoubleVector vx = DoubleVector.fromArray(SPECIES, x, xOffset + k);
+            DoubleVector vy = DoubleVector.fromArray(SPECIES, y, yOffset + k);
+            vx.fma(va, vy).intoArray(y, yOffset + k);
+        }
+        for (; k < length; k++) {
+            y[yOffset + k] += alpha * x[xOffset + k];
+        }
+    }
+
+    @Override
+    public void momentumUpdate(double[] w, double[] v, int wOffset, double[] g, int gOffset, int length,
+                               double momentum, double scale) {
+        DoubleVector vm = DoubleVector.broadcast(SPECIES, momentum);
+        DoubleVector vs = DoubleVector.broadcast(SPECIES, -scale);
+        int bound = SPECIES.loopBound(length);
+        int k = 0;
+        for (; k < bound; k += SPECIES.length()) {
+            int idx = wOffset + k;
+            DoubleVector vg = DoubleVector.fromArray(SPECIES, g, gOffset + k);
+            DoubleVector vv = DoubleVector.fromArray(SPECIES, v, idx).mul(vm);
+            vv = vg.fma(vs, vv);
+            vv.intoArray(v, idx);
+            DoubleVector.fromArray(SPECIES, w, idx).add(vv).intoArray(w, idx);
+        }
+        for (; k < length; k++) {
+            int idx = wOffset + k;
+            v[idx] = momentum * v[idx] - scale * g[gOffset + k];
+            w[idx] += v[idx];
+        }
+    }
+
+    @Override
+    public double dot(ByteBuffer a, int aIndex, double[] b, int bOffset, int length) {
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        int bound = SPECIES.loopBound(length);
+        int k = 0;
+        for (; k < bound; k += SPECIES.length()) {
+            DoubleVector va = DoubleVector.fromByteBuffer(SPECIES, a, (aIndex + k) * Double.BYTES, a.order());
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bOffset + k);
+            acc = va.fma(vb, acc);
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; k < length; k++) {
+            sum += a.getDouble((aIndex + k) * Double.BYTES) * b[bOffset + k];
+        }
+        return sum;
+    }
+
+    @Override
+    public void axpy(double alpha, ByteBuffer x, int xIndex, double[] y, int yOffset, int length) {
+        DoubleVector va = DoubleVector.broadcast(SPECIES, alpha);
+        int bound = SPECIES.loopBound(length);
+        int k = 0;
+        for (; k < bound; k += SPECIES.length()) {
+            DoubleVector vx = DoubleVector.fromByteBuffer(SPECIES, x, (xIndex + k) * Double.BYTES, x.order());
+            DoubleVector vy = DoubleVector.fromArray(SPECIES, y, yOffset + k);
+            vx.fma(va, vy).intoArray(y, yOffset + k);
+        }
+        for (; k < length; k++) {
+            y[yOffset + k] += alpha * x.getDouble((xIndex + k) * Double.BYTES);
+        }
+    }
+
+    @Override
+    public void axpy(double alpha, double[] x, int xOffset, ByteBuffer y, int yIndex, int length) {
+        DoubleVector va = DoubleVector.broadcast(SPECIES, alpha);
+        int bound = SPECIES.loopBound(length);
+        int k = 0;
+        for (; k < bound; k += SPECIES.length()) {
+            int pos = (yIndex + k) * Double.BYTES;
+            DoubleVector vx = DoubleVector.fromArray(SPECIES, x, xOffset + k);
+            DoubleVector vy = DoubleVector.fromByteBuffer(SPECIES, y, pos, y.order());
+            vx.fma(va, vy).intoByteBuffer(y, pos, y.order());
+        }
+        for (; k < length; k++) {
+            int pos = (yIndex + k) * Double.BYTES;
+            y.putDouble(pos, y.getDouble(pos) + alpha * x[xOffset + k]);
+        }
+    }
+
+    @Override
+    public void momentumUpdate(ByteBuffer w, ByteBuffer v, int index, double[] g, int gOffset, int length,
+                               double momentum, double scale) {
+        DoubleVector vm = DoubleVector.broadcast(SPECIES, momentum);
+        DoubleVector vs = DoubleVector.broadcast(SPECIES, -scale);
+        int bound = SPECIES.loopBound(length);
+        int k = 0;
+        for (; k < bound; k += SPECIES.length()) {
+            int pos = (index + k) * Double.BYTES;
+            DoubleVector vg = DoubleVector.fromArray(SPECIES, g, gOffset + k);
+            DoubleVector vv = DoubleVector.fromByteBuffer(SPECIES, v, pos, v.order()).mul(vm);
+            vv = vg.fma(vs, vv);
+            vv.intoByteBuffer(v, pos, v.order());
+            DoubleVector.fromByteBuffer(SPECIES, w, pos, w.order()).add(vv).intoByteBuffer(w, pos, w.order());
+        }
+        for (; k < length; k++) {
+            int pos = (index + k) * Double.BYTES;
+            double velocity = momentum * v.getDouble(pos) - scale * g[gOffset + k];
+            v.putDouble(pos, velocity);
+            w.putDouble(pos, w.getDouble(pos) + velocity);
+        }
+    }
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        FloatVector acc = FloatVector.zero(FLOAT_SPECIES);
+        int bound = FLOAT_SPECIES.loopBound(length);
+        int k = 0;
+        for (; k < bound; k += FLOAT_SPECIES.length()) {
+            FloatVector va = FloatVector.fromArray(FLOAT_SPECIES, a, aOffset + k);
+            FloatVector vb = FloatVector.fromArray(FLOAT_SPECIES, b, bOffset + k);
+            acc = va.fma(vb, acc);
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; k < length; k++) {
+            sum += a[aOffset + k] * b[bOffset + k];
+        }
+        return sum;
+    }
+
+    @Override
+    public void axpy(float alpha, float[] x, int xOffset, float[] y, int yOffset, int length) {
+        FloatVector va = FloatVector.broadcast(FLOAT_SPECIES, alpha);
+        int bound = FLOAT_SPECIES.loopBound(length);
+        int k = 0;
+        for (; k < bound; k += FLOAT_SPECIES.length()) {
+            FloatVector vx = FloatVector.fromArray(FLOAT_SPECIES, x, xOffset + k);
+            FloatVector vy = FloatVector.fromArray(FLOAT_SPECIES, y, yOffset + k);
+            vx.fma(va, vy).intoArray(y, yOffset + k);
+        }
+        for (; k < length; k++) {
+            y[yOffset + k] += alpha * x[xOffset + k];
+        }
+    }
+
+    @Override
+    public void momentumUpdate(float[] w, float[] v, int wOffset, float[] g, int gOffset, int length,
+                               float momentum, float scale) {
+        FloatVector vm = FloatVector.broadcast(FLOAT_SPECIES, momentum);
+        FloatVector vs = FloatVector.broadcast(FLOAT_SPECIES, -scale);
+        int bound = FLOAT_SPECIES.loopBound(length);
+        int k = 0;
+        for (; k < bound; k += FLOAT_SPECIES.length()) {
+            int idx = wOffset + k;
+            FloatVector vg = FloatVector.fromArray(FLOAT_SPECIES, g, gOffset + k);
+            FloatVector vv = FloatVector.fromArray(FLOAT_SPECIES, v, idx).mul(vm);
+            vv = vg.fma(vs, vv);
+            vv.intoArray(v, idx);
+            FloatVector.fromArray(FLOAT_SPECIES, w, idx).add(vv).intoArray(w, idx);
+        }
+        for (; k < length; k++) {
+            int idx = wOffset + k;
+            v[idx] = momentum * v[idx] - scale * g[gOffset + k];
+            w[idx] += v[idx];
+        }
+    }
+}
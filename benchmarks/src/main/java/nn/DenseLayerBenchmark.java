@@ -0,0 +1,107 @@
+package nn;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * DenseLayer 순전파/역전파 처리량 (크기는 "입력x출력")
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class DenseLayerBenchmark {
+
+    @Param({"2x4", "64x64", "256x256", "1024x1024", "4096x4096"})
+    public String shape;
+
+    @Param({"32"})
+    public int batchSize;
+
+    private DenseLayer layer;
+    private double[] input;
+    private double[] output;
+    private double[] gradOutput;
+    private double[] gradInput;
+
+    private double[] batchInput;
+    private double[] batchOutput;
+    private double[] batchGradOutput;
+    private double[] batchGradInput;
+
+    @Setup
+    public void setup() {
+        String[] dims = shape.split("x");
+        int inputSize = Integer.parseInt(dims[0]);
+        int outputSize = Integer.parseInt(dims[1]);
+
+        // 반복 갱신으로 가중치가 발산하지 않도록 학습률은 아주 작게
+        layer = new DenseLayer(inputSize, outputSize, new SigmoidActivation(), 1e-6, 0.9, 42L);
+
+        Random random = new Random(42);
+        input = randomArray(random, inputSize);
+        output = new double[outputSize];
+        gradOutput = randomArray(random, outputSize);
+        gradInput = new double[inputSize];
+
+        batchInput = randomArray(random, batchSize * inputSize);
+        batchOutput = new double[batchSize * outputSize];
+        batchGradOutput = randomArray(random, batchSize * outputSize);
+        batchGradInput = new double[batchSize * inputSize];
+
+        layer.forward(input, output);
+        layer.forwardBatch(batchInput, batchOutput, batchSize);
+    }
+
+    private static double[] randomArray(Random random, int length) {
+        double[] values = new double[length];
+        for (int k = 0; k < length; k++) {
+            values[k] = random.nextGaussian();
+        }
+        return values;
+    }
+
+    @Benchmark
+    public double[] forward() {
+        layer.forward(input, output);
+        return output;
+    }
+
+    @Benchmark
+    public double[] infer() {
+        layer.infer(input, output);
+        return output;
+    }
+
+    @Benchmark
+    public double[] backward() {
+        layer.backward(gradOutput, gradInput);
+        return gradInput;
+    }
+
+    @Benchmark
+    public double[] forwardBatch() {
+        layer.forwardBatch(batchInput, batchOutput, batchSize);
+        return batchOutput;
+    }
+
+    @Benchmark
+    public double[] backwardBatch() {
+        layer.backwardBatch(batchGradOutput, batchGradInput, batchSize);
+        return batchGradInput;
+    }
+}
@@ -0,0 +1,66 @@
+package nn;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 예측 1회 지연 시간 (NeuralNetwork.predict, 출력 버퍼 재사용)
+ * xor: Run 과 같은 2-4-1, synthetic: 64-128-10
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class InferenceBenchmark {
+
+    @Param({"xor", "synthetic"})
+    public String dataset;
+
+    private NeuralNetwork network;
+    private double[] input;
+    private double[] output;
+
+    @Setup
+    public void setup() {
+        ActivationFunction sigmoid = new SigmoidActivation();
+        network = new NeuralNetwork(new MeanSquaredError());
+
+        int inputSize;
+        if ("xor".equals(dataset)) {
+            inputSize = 2;
+            network.addLayer(new DenseLayer(2, 4, sigmoid, 0.5, 0.9, 1L));
+            network.addLayer(new DenseLayer(4, 1, sigmoid, 0.5, 0.9, 2L));
+        } else {
+            inputSize = 64;
+            network.addLayer(new DenseLayer(64, 128, sigmoid, 0.05, 0.9, 1L));
+            network.addLayer(new DenseLayer(128, 10, sigmoid, 0.05, 0.9, 2L));
+        }
+
+        Random random = new Random(42);
+        input = new double[inputSize];
+        for (int i = 0; i < inputSize; i++) {
+            input[i] = random.nextDouble();
+        }
+        output = new double[network.getLayers().get(network.getLayers().size() - 1).getOutputSize()];
+    }
+
+    @Benchmark
+    public double[] predict() {
+        network.predict(input, output);
+        return output;
+    }
+}
@@ -0,0 +1,64 @@
+package nn;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MeanSquaredError 손실/기울기 처리량
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class MeanSquaredErrorBenchmark {
+
+    @Param({"1", "10", "1000"})
+    public int size;
+
+    private final MeanSquaredError mse = new MeanSquaredError();
+    private double[] target;
+    private double[] output;
+    private double[] grad;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        target = new double[size];
+        output = new double[size];
+        grad = new double[size];
+        for (int k = 0; k < size; k++) {
+            target[k] = random.nextDouble();
+            output[k] = random.nextDouble();
+        }
+    }
+
+    @Benchmark
+    public double loss() {
+        return mse.loss(target, output);
+    }
+
+    @Benchmark
+    public double[] derivative() {
+        return mse.derivative(target, output);
+    }
+
+    @Benchmark
+    public double[] derivativeInto() {
+        mse.derivative(target, output, grad);
+        return grad;
+    }
+}
@@ -0,0 +1,66 @@
+package nn;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * SigmoidActivation 스칼라/배열 단위 처리량
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class SigmoidActivationBenchmark {
+
+    @Param({"64", "4096"})
+    public int size;
+
+    private final SigmoidActivation sigmoid = new SigmoidActivation();
+    private double[] in;
+    private double[] out;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        in = new double[size];
+        out = new double[size];
+        for (int k = 0; k < size; k++) {
+            in[k] = random.nextGaussian() * 4.0;
+            out[k] = random.nextDouble();
+        }
+    }
+
+    @Benchmark
+    public double[] activateScalar() {
+        for (int k = 0; k < size; k++) {
+            out[k] = sigmoid.activate(in[k]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public double[] activateArray() {
+        sigmoid.activate(in, out, size);
+        return out;
+    }
+
+    @Benchmark
+    public double[] derivativeInPlace() {
+        sigmoid.derivativeInPlace(out, in, size);
+        return in;
+    }
+}
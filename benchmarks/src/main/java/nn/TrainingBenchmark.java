@@ -0,0 +1,85 @@
+package nn;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * NeuralNetwork 학습 처리량 (연산 1회 = 1 에폭)
+ * xor: Run 과 같은 2-4-1 XOR 설정, synthetic: 1024 샘플 64-128-10 임의 데이터
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class TrainingBenchmark {
+
+    @Param({"xor", "synthetic"})
+    public String dataset;
+
+    private NeuralNetwork network;
+    private double[][] inputs;
+    private double[][] targets;
+
+    @Setup
+    public void setup() {
+        ActivationFunction sigmoid = new SigmoidActivation();
+        network = new NeuralNetwork(new MeanSquaredError());
+
+        if ("xor".equals(dataset)) {
+            network.addLayer(new DenseLayer(2, 4, sigmoid, 0.5, 0.9, 1L));
+            network.addLayer(new DenseLayer(4, 1, sigmoid, 0.5, 0.9, 2L));
+            inputs = new double[][] {{0.0, 0.0}, {0.0, 1.0}, {1.0, 0.0}, {1.0, 1.0}};
+            targets = new double[][] {{0.0}, {1.0}, {1.0}, {0.0}};
+            return;
+        }
+
+        int samples = 1024;
+        int inputSize = 64;
+        int hiddenSize = 128;
+        int outputSize = 10;
+        network.addLayer(new DenseLayer(inputSize, hiddenSize, sigmoid, 0.05, 0.9, 1L));
+        network.addLayer(new DenseLayer(hiddenSize, outputSize, sigmoid, 0.05, 0.9, 2L));
+
+        Random random = new Random(42);
+        inputs = new double[samples][inputSize];
+        targets = new double[samples][outputSize];
+        for (int n = 0; n < samples; n++) {
+            for (int i = 0; i < inputSize; i++) {
+                inputs[n][i] = random.nextGaussian();
+            }
+            targets[n][random.nextInt(outputSize)] = 1.0;
+        }
+    }
+
+    /**
+     * 샘플 단위 SGD 1 에폭 (리스너 없음)
+     */
+    @Benchmark
+    public NeuralNetwork epoch() {
+        network.train(inputs, targets, 1);
+        return network;
+    }
+
+    /**
+     * 미니배치(32) 1 에폭
+     */
+    @Benchmark
+    public NeuralNetwork batchEpoch() {
+        network.train(inputs, targets, 1, 32);
+        return network;
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.demo;
+
+import java.io.*;
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.*;
+import jakarta.servlet.annotation.*;
+
+/**
+ * 비동기 신경망 예측 서블릿
+ * GET /predict-async?x=0,1  ->  {"output":[0.99812]}
+ * 컨테이너 요청 스레드는 요청을 PredictServlet 과 같은 공유 MicroBatcher(SharedBatcher)에 넘기고 바로 반환하며,
+ * 추론은 배처 스레드에서, 응답 쓰기는 가상 스레드(Java 21 이상) 또는 제한된 스레드 풀에서 수행
+ *
+ * Java 21 미만에서는 response-threads 개의 플랫폼 스레드가 블로킹 출력으로 응답을 쓰므로,
+ * 느린 클라이언트가 많으면 그 스레드들이 묶여 다른 응답이 늦어질 수 있음
+ * (응답이 작아 보통은 소켓 버퍼에 바로 들어가지만, 느린 클라이언트가 많은 환경이면 Java 21 이상에서 실행)
+ */
+@WebServlet(name = "asyncPredictServlet", value = "/predict-async", asyncSupported = true, initParams = {
+        @WebInitParam(name = "queue-capacity", value = "10000"),
+        @WebInitParam(name = "response-threads", value = "16"),
+        @WebInitParam(name = "timeout-millis", value = "5000")
+})
+public class AsyncPredictServlet extends HttpServlet {
+    private MicroBatcher batcher;
+    private ExecutorService responseExecutor;
+    private long timeoutMillis;
+
+    public void init() throws ServletException {
+        batcher = SharedBatcher.get(getServletContext());
+
+        int queueCapacity = Integer.parseInt(getInitParameter("queue-capacity"));
+        responseExecutor = newResponseExecutor(Integer.parseInt(getInitParameter("response-threads")), queueCapacity);
+        timeoutMillis = Long.parseLong(getInitParameter("timeout-millis"));
+    }
+
+    /**
+     * 가상 스레드를 쓸 수 있으면 요청마다 가상 스레드, 아니면 크기가 고정된 스레드 풀
+     */
+    static ExecutorService newResponseExecutor(int threads, int queueCapacity) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            // Java 21 미만: 제한된 플랫폼 스레드 풀 사용
+        }
+
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "predict-response-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        double[] input;
+        CompletableFuture<double[]> result;
+        try {
+            input = PredictServlet.parseInput(request.getParameter("x"));
+            result = batcher.submit(input);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        } catch (RejectedExecutionException e) {
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, e.getMessage());
+            return;
+        }
+
+        AsyncContext async = request.startAsync();
+        async.setTimeout(timeoutMillis);
+
+        // 응답은 한 번만 완료 (추론 완료와 타임아웃이 겹칠 수 있음)
+        AtomicBoolean done = new AtomicBoolean();
+        async.addListener(new AsyncListener() {
+            public void onTimeout(AsyncEvent event) throws IOException {
+                if (done.compareAndSet(false, true)) {
+                    ((HttpServletResponse) event.getSuppliedResponse())
+                            .sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "예측 시간이 초과되었습니다.");
+                    event.getAsyncContext().complete();
+                }
+            }
+
+            public void onComplete(AsyncEvent event) {
+            }
+
+            public void onError(AsyncEvent event) {
+                done.set(true);
+            }
+
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+
+        // whenCompleteAsync 가 완료 시점에 거절되면 응답 없이 타임아웃까지 기다리므로 직접 넘기고, 거절되면 완료한 스레드에서 503
+        result.whenComplete((output, error) -> {
+            try {
+                responseExecutor.execute(() -> respond(async, done, output, error));
+            } catch (RejectedExecutionException e) {
+                respond(async, done, null, e);
+            }
+        });
+    }
+
+    private static void respond(AsyncContext async, AtomicBoolean done, double[] output, Throwable error) {
+        if (!done.compareAndSet(false, true)) {
+            return;
+        }
+        HttpServletResponse response = (HttpServletResponse) async.getResponse();
+        try {
+            if (error != null) {
+                int status = error instanceof RejectedExecutionException
+                        ? HttpServletResponse.SC_SERVICE_UNAVAILABLE
+                        : HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+                response.sendError(status, String.valueOf(error));
+            } else {
+                PredictServlet.writeOutput(response, output);
+            }
+        } catch (IOException e) {
+            // 클라이언트 연결이 끊긴 경우: 더 할 일이 없음
+        } finally {
+            async.complete();
+        }
+    }
+
+    public void destroy() {
+        // 배처는 PredictServlet 과 공유하므로 SharedBatcher 가 웹앱 종료 때 닫음
+        if (responseExecutor != null) {
+            responseExecutor.shutdown();
+        }
+    }
+}
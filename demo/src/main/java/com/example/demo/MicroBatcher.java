@@ -0,0 +1,159 @@
+package com.example.demo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import nn.NeuralNetwork;
+
+/**
+ * 예측 요청 마이크로 배칭
+ * 첫 요청이 들어온 뒤 window 동안 (또는 maxBatchSize 개가 찰 때까지) 도착한 요청을 모아
+ * 한 번의 배치 순전파로 처리
+ */
+public final class MicroBatcher implements AutoCloseable {
+
+    private final NeuralNetwork network;
+    private final int inputSize;
+    private final int outputSize;
+    private final int maxBatchSize;
+    private final long windowNanos;
+
+    private final BlockingQueue<Request> queue;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public MicroBatcher(NeuralNetwork network, int maxBatchSize, long windowMicros, int queueCapacity) {
+        if (maxBatchSize <= 0 || windowMicros < 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("배칭 설정이 잘못되었습니다.");
+        }
+        this.network = network;
+        this.inputSize = network.getLayers().get(0).getInputSize();
+        this.outputSize = network.getLayers().get(network.getLayers().size() - 1).getOutputSize();
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.worker = new Thread(this::run, "micro-batcher");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public int getInputSize() {
+        return inputSize;
+    }
+
+    /**
+     * 예측 요청 등록
+     * 대기열이 가득 차면 RejectedExecutionException
+     */
+    public CompletableFuture<double[]> submit(double[] input) {
+        if (input.length != inputSize) {
+            throw new IllegalArgumentException("입력 크기가 잘못되었습니다. expected="
+                    + inputSize + ", actual=" + input.length);
+        }
+        if (!running) {
+            throw new RejectedExecutionException("배처가 종료되었습니다.");
+        }
+        Request request = new Request(input);
+        if (!queue.offer(request)) {
+            throw new RejectedExecutionException("예측 대기열이 가득 찼습니다.");
+        }
+        // close 와 겹쳐 워커가 이미 대기열을 비운 뒤라면 직접 거절
+        if (!running && queue.remove(request)) {
+            throw new RejectedExecutionException("배처가 종료되었습니다.");
+        }
+        return request.result;
+    }
+
+    private void run() {
+        List<Request> batch = new ArrayList<>(maxBatchSize);
+        double[] input = new double[maxBatchSize * inputSize];
+        double[] output = new double[maxBatchSize * outputSize];
+
+        try {
+            while (running) {
+                try {
+                    // 첫 요청을 기다린 뒤 window 안에 들어온 요청을 모음
+                    batch.add(queue.take());
+                    long deadline = System.nanoTime() + windowNanos;
+                    while (batch.size() < maxBatchSize) {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            queue.drainTo(batch, maxBatchSize - batch.size());
+                            break;
+                        }
+                        Request next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                } catch (InterruptedException e) {
+                    break;
+                }
+
+                process(batch, input, output);
+                batch.clear();
+            }
+        } finally {
+            // 종료 시 (Error 로 죽는 경우 포함) 남은 요청은 실패 처리
+            running = false;
+            queue.drainTo(batch);
+            for (Request request : batch) {
+                request.result.completeExceptionally(new RejectedExecutionException("배처가 종료되었습니다."));
+            }
+        }
+    }
+
+    private void process(List<Request> batch, double[] input, double[] output) {
+        int n = batch.size();
+        try {
+            for (int b = 0; b < n; b++) {
+                System.arraycopy(batch.get(b).input, 0, input, b * inputSize, inputSize);
+            }
+
+            network.predictBatch(input, output, n);
+
+            for (int b = 0; b < n; b++) {
+                double[] y = new double[outputSize];
+                System.arraycopy(output, b * outputSize, y, 0, outputSize);
+                batch.get(b).result.complete(y);
+            }
+        } catch (RuntimeException e) {
+            for (Request request : batch) {
+                request.result.completeExceptionally(e);
+            }
+        } catch (Error e) {
+            // 워커가 죽으면서 남은 요청은 run 의 finally 에서 정리
+            for (Request request : batch) {
+                request.result.completeExceptionally(e);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Request {
+        final double[] input;
+        final CompletableFuture<double[]> result = new CompletableFuture<>();
+
+        Request(double[] input) {
+            this.input = input;
+        }
+    }
+}
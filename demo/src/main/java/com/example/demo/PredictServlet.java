@@ -0,0 +1,104 @@
+package com.example.demo;
+
+import java.io.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.*;
+import jakarta.servlet.annotation.*;
+
+/**
+ * 신경망 예측 서블릿
+ * GET /predict?x=0,1  ->  {"output":[0.99812]}
+ * 동시에 들어온 요청은 SharedBatcher 의 공유 MicroBatcher 가 모아서 한 번의 배치 순전파로 처리
+ *
+ * 모델 파일은 WAR 에 들어 있지 않으므로 배포 전에 ModelIO.save 로 저장한 파일을 준비해야 함
+ * (예: java Run model.nn 으로 XOR 모델 저장)
+ * web.xml 의 nn.model-path context-param 은 웹앱 내부 경로(/WEB-INF/model.nn, 기본값) 또는 파일 시스템 경로이며,
+ * 파일이 없으면 init 에서 ServletException 으로 실패함
+ * 결과가 timeout-millis 안에 나오지 않으면 503
+ */
+@WebServlet(name = "predictServlet", value = "/predict", initParams = {
+        @WebInitParam(name = "timeout-millis", value = "5000")
+})
+public class PredictServlet extends HttpServlet {
+    private MicroBatcher batcher;
+    private long timeoutMillis;
+
+    public void init() throws ServletException {
+        batcher = SharedBatcher.get(getServletContext());
+        timeoutMillis = Long.parseLong(getInitParameter("timeout-millis"));
+    }
+
+    public void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        double[] input;
+        try {
+            input = parseInput(request.getParameter("x"));
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        double[] output;
+        try {
+            // 배처 스레드가 죽거나 종료와 겹쳐도 요청 스레드가 무한정 묶이지 않도록 시간 제한
+            output = batcher.submit(input).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        } catch (RejectedExecutionException e) {
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, e.getMessage());
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        } catch (TimeoutException e) {
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "예측 시간이 초과되었습니다.");
+            return;
+        } catch (ExecutionException e) {
+            int status = e.getCause() instanceof RejectedExecutionException
+                    ? HttpServletResponse.SC_SERVICE_UNAVAILABLE
+                    : HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+            response.sendError(status, String.valueOf(e.getCause()));
+            return;
+        }
+
+        writeOutput(response, output);
+    }
+
+    static double[] parseInput(String value) {
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("x 파라미터가 필요합니다. 예: ?x=0,1");
+        }
+        String[] parts = value.split(",");
+        double[] input = new double[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                input[i] = Double.parseDouble(parts[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("x 파라미터는 쉼표로 구분한 숫자여야 합니다.");
+        }
+        return input;
+    }
+
+    static void writeOutput(HttpServletResponse response, double[] output) throws IOException {
+        response.setContentType("application/json");
+
+        StringBuilder json = new StringBuilder("{\"output\":[");
+        for (int o = 0; o < output.length; o++) {
+            if (o > 0) {
+                json.append(',');
+            }
+            json.append(output[o]);
+        }
+        json.append("]}");
+
+        PrintWriter out = response.getWriter();
+        out.println(json);
+    }
+}
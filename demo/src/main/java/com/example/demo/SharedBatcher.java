@@ -0,0 +1,77 @@
+package com.example.demo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebListener;
+
+import nn.ModelIO;
+import nn.NeuralNetwork;
+
+/**
+ * 예측 서블릿들이 함께 쓰는 모델과 MicroBatcher
+ * web.xml context-param(nn.model-path, nn.max-batch-size, nn.batch-window-micros, nn.queue-capacity)으로
+ * 처음 필요한 서블릿의 init 에서 한 번만 만들고, 웹앱이 내려갈 때 닫음
+ * 모델 파일이 없어도 다른 서블릿/JSP 는 뜨도록 웹앱 시작이 아니라 처음 필요할 때 불러옴
+ */
+@WebListener
+public class SharedBatcher implements ServletContextListener {
+
+    private static final String ATTRIBUTE = MicroBatcher.class.getName();
+
+    /**
+     * 공유 배처 (없으면 모델을 불러와 생성)
+     */
+    static MicroBatcher get(ServletContext context) throws ServletException {
+        synchronized (SharedBatcher.class) {
+            MicroBatcher batcher = (MicroBatcher) context.getAttribute(ATTRIBUTE);
+            if (batcher == null) {
+                NeuralNetwork network = loadModel(context, param(context, "nn.model-path", "/WEB-INF/model.nn"));
+                batcher = new MicroBatcher(network,
+                        Integer.parseInt(param(context, "nn.max-batch-size", "32")),
+                        Long.parseLong(param(context, "nn.batch-window-micros", "1000")),
+                        Integer.parseInt(param(context, "nn.queue-capacity", "10000")));
+                context.setAttribute(ATTRIBUTE, batcher);
+            }
+            return batcher;
+        }
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        synchronized (SharedBatcher.class) {
+            ServletContext context = event.getServletContext();
+            MicroBatcher batcher = (MicroBatcher) context.getAttribute(ATTRIBUTE);
+            if (batcher != null) {
+                context.removeAttribute(ATTRIBUTE);
+                batcher.close();
+            }
+        }
+    }
+
+    private static String param(ServletContext context, String name, String defaultValue) {
+        String value = context.getInitParameter(name);
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+
+    /**
+     * 모델 불러오기
+     * 웹앱 내부 경로(/WEB-INF/...)면 실제 파일 경로로 바꾸고, 아니면 파일 시스템 경로로 사용
+     */
+    static NeuralNetwork loadModel(ServletContext context, String modelPath) throws ServletException {
+        String realPath = context.getRealPath(modelPath);
+        Path path = realPath != null && new File(realPath).exists() ? Paths.get(realPath) : Paths.get(modelPath);
+        try {
+            return ModelIO.load(path);
+        } catch (IOException e) {
+            throw new ServletException("모델을 불러올 수 없습니다. ModelIO.save 로 저장한 모델 파일을 "
+                    + "nn.model-path 에 두어야 합니다. path=" + modelPath, e);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package nn;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 셔플 범위, 닫기, 이중 반환, 소스 실패 처리 확인
+ */
+class DataLoaderTest {
+
+    private static final int SAMPLES = 10;
+
+    @Test
+    void shuffleVisitsEverySampleOncePerEpoch() {
+        double[][] inputs = new double[SAMPLES][1];
+        double[][] targets = new double[SAMPLES][1];
+        for (int n = 0; n < SAMPLES; n++) {
+            inputs[n][0] = n;
+            targets[n][0] = n + 100;
+        }
+
+        List<Integer> expected = new ArrayList<>();
+        for (int n = 0; n < SAMPLES; n++) {
+            expected.add(n);
+        }
+        try (DataLoader loader = DataLoader.of(inputs, targets, 3).shuffle(42)) {
+            for (int epoch = 1; epoch <= 3; epoch++) {
+                List<Integer> seen = new ArrayList<>();
+                while (true) {
+                    DataLoader.Batch batch = loader.take();
+                    assertEquals(epoch, batch.getEpoch());
+                    if (batch.isEndOfEpoch()) {
+                        loader.release(batch);
+                        break;
+                    }
+                    for (int b = 0; b < batch.getSize(); b++) {
+                        assertEquals(batch.getInputs()[b] + 100, batch.getTargets()[b]);
+                        seen.add((int) batch.getInputs()[b]);
+                    }
+                    loader.release(batch);
+                }
+                Collections.sort(seen);
+                assertEquals(expected, seen);
+            }
+        }
+    }
+
+    @Test
+    void takeAfterCloseThrows() {
+        DataLoader loader = DataLoader.of(new double[][] {{1}}, new double[][] {{1}}, 1);
+        loader.take();
+        loader.close();
+
+        assertThrows(IllegalStateException.class, loader::take);
+    }
+
+    @Test
+    void blockedTakeWakesOnClose() throws Exception {
+        // 배치 하나를 채우는 데 오래 걸리는 소스라서 take 가 기다리는 중에 닫힘
+        DataLoader loader = DataLoader.of(new SlowSource(), 1000);
+        CompletableFuture<DataLoader.Batch> taken = CompletableFuture.supplyAsync(loader::take);
+        Thread.sleep(100);
+        loader.close();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> taken.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Test
+    void releasingTwiceThrows() {
+        try (DataLoader loader = DataLoader.of(new double[][] {{1}, {2}}, new double[][] {{1}, {2}}, 1)) {
+            DataLoader.Batch batch = loader.take();
+            loader.release(batch);
+
+            assertThrows(IllegalStateException.class, () -> loader.release(batch));
+        }
+    }
+
+    @Test
+    void sourceFailureSurfacesAsIllegalStateException() {
+        try (DataLoader loader = DataLoader.of(new FailingSource(), 4)) {
+            IllegalStateException e = assertThrows(IllegalStateException.class, loader::take);
+            assertInstanceOf(IOException.class, e.getCause());
+            assertThrows(IllegalStateException.class, loader::take);
+        }
+    }
+
+    private abstract static class TestSource implements SampleSource {
+        @Override
+        public int inputSize() {
+            return 1;
+        }
+
+        @Override
+        public int targetSize() {
+            return 1;
+        }
+
+        @Override
+        public void reset() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class SlowSource extends TestSource {
+        @Override
+        public boolean next(double[] input, double[] target) throws IOException {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            return true;
+        }
+    }
+
+    private static final class FailingSource extends TestSource {
+        @Override
+        public boolean next(double[] input, double[] target) throws IOException {
+            throw new IOException("읽기 실패");
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package nn;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 모멘텀 계수를 에폭 사이에 바꿔도 속도와 step 이 이어지는지 확인
+ */
+class DenseLayerTest {
+
+    private static final double[][] INPUTS = {{0, 0}, {0, 1}, {1, 0}, {1, 1}};
+    private static final double[][] TARGETS = {{0}, {1}, {1}, {0}};
+
+    @Test
+    void setMomentumWithSameValueDoesNotRestart() {
+        NeuralNetwork scheduled = network(0.9);
+        NeuralNetwork straight = network(0.9);
+
+        scheduled.train(INPUTS, TARGETS, 10);
+        for (DenseLayer layer : scheduled.getLayers()) {
+            layer.setMomentum(0.9);
+        }
+        scheduled.train(INPUTS, TARGETS, 10);
+        straight.train(INPUTS, TARGETS, 20);
+
+        for (double[] x : INPUTS) {
+            assertArrayEquals(straight.predict(x), scheduled.predict(x), 0.0);
+        }
+    }
+
+    @Test
+    void setMomentumKeepsVelocity() {
+        NeuralNetwork nn = network(0.9);
+        nn.train(INPUTS, TARGETS, 10);
+        DenseLayer layer = nn.getLayers().get(0);
+        double[] velocity = layer.optimizerStateW()[0].clone();
+        long step = layer.getStep();
+
+        layer.setMomentum(0.5);
+
+        assertEquals(0.5, layer.getMomentum());
+        assertArrayEquals(velocity, layer.optimizerStateW()[0], 0.0);
+        assertEquals(step, layer.getStep());
+    }
+
+    @Test
+    void switchingToSgdDropsVelocity() {
+        NeuralNetwork nn = network(0.9);
+        nn.train(INPUTS, TARGETS, 10);
+        DenseLayer layer = nn.getLayers().get(0);
+
+        layer.setMomentum(0.0);
+
+        assertEquals(0.0, layer.getMomentum());
+        assertNotEquals(MomentumOptimizer.class, layer.getOptimizer().getClass());
+    }
+
+    private static NeuralNetwork network(double momentum) {
+        NeuralNetwork nn = new NeuralNetwork(new MeanSquaredError());
+        nn.addLayer(new DenseLayer(2, 4, new SigmoidActivation(), 0.5, momentum, 1L));
+        nn.addLayer(new DenseLayer(4, 1, new SigmoidActivation(), 0.5, momentum, 2L));
+        return nn;
+    }
+}
@@ -0,0 +1,61 @@
+package nn;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * float32 변환의 정확도 손실 측정
+ */
+class FloatNeuralNetworkTest {
+
+    @Test
+    void convertedNetworkStaysCloseToDouble() {
+        Random random = new Random(3);
+        double[][] inputs = new double[200][8];
+        double[][] targets = new double[200][2];
+        for (int n = 0; n < inputs.length; n++) {
+            for (int i = 0; i < 8; i++) {
+                inputs[n][i] = random.nextGaussian();
+            }
+            targets[n][0] = inputs[n][0] * inputs[n][1] > 0 ? 1.0 : 0.0;
+            targets[n][1] = 1.0 - targets[n][0];
+        }
+
+        NeuralNetwork nn = new NeuralNetwork(new MeanSquaredError());
+        nn.addLayer(new DenseLayer(8, 32, new SigmoidActivation(), 0.1, 0.9, 1L));
+        nn.addLayer(new DenseLayer(32, 2, new SigmoidActivation(), 0.1, 0.9, 2L));
+        nn.train(inputs, targets, 50);
+
+        FloatNeuralNetwork converted = nn.toFloat();
+        double error = FloatNeuralNetwork.maxAbsError(nn, converted, inputs);
+
+        // float 가수부는 24비트이므로 0..1 범위 출력의 오차는 1e-5 보다 훨씬 작아야 함
+        assertTrue(error < 1e-5, "float32 변환 오차가 큽니다. maxAbsError=" + error);
+    }
+
+    @Test
+    void softmaxOutputUsesArrayActivation() {
+        NeuralNetwork nn = new NeuralNetwork(new CrossEntropy());
+        nn.addLayer(new DenseLayer(4, 8, new SigmoidActivation(), 0.1, 0.0, 1L));
+        nn.addLayer(new DenseLayer(8, 3, new SoftmaxActivation(), 0.1, 0.0, 2L));
+
+        double[] x = {0.5, -1.0, 2.0, 0.1};
+        double[] expected = nn.predict(x);
+        double[] actual = nn.toFloat().predict(x);
+
+        assertArrayEquals(expected, actual, 1e-6);
+    }
+
+    @Test
+    void unsupportedOptimizerIsRejected() {
+        NeuralNetwork nn = new NeuralNetwork(new MeanSquaredError());
+        nn.addLayer(new DenseLayer(2, 1, new SigmoidActivation(), 0.01, new AdamOptimizer(), 1L));
+
+        assertThrows(IllegalArgumentException.class, nn::toFloat);
+    }
+}
@@ -0,0 +1,79 @@
+package nn;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * successive halving 의 단계별 생존 수, 에폭 예산, 최종 순위 확인
+ */
+class HyperparameterSearchTest {
+
+    private static final double[][] INPUTS = {{0, 0}, {0, 1}, {1, 0}, {1, 1}};
+    private static final double[][] TARGETS = {{0}, {1}, {1}, {0}};
+
+    // 후보 9개, eta 3: 10 에폭에 9개 -> 30 에폭까지 3개 -> 90 에폭까지 1개
+    private static final List<TrialConfig> CONFIGS = HyperparameterSpace.create()
+            .learningRates(1e-6, 0.05, 0.1, 0.2, 0.5, 1.0, 2.0, 3.0, 5.0)
+            .momenta(0.9)
+            .hiddenLayers(new int[]{4})
+            .grid(42L);
+
+    @Test
+    void survivorsGetTheLargerBudgets() {
+        List<TrialResult> results = search(3).run(CONFIGS);
+
+        assertEquals(CONFIGS.size(), results.size());
+        int[] expectedRungs = {3, 2, 2, 1, 1, 1, 1, 1, 1};
+        int[] expectedEpochs = {90, 30, 30, 10, 10, 10, 10, 10, 10};
+        for (int k = 0; k < results.size(); k++) {
+            TrialResult trial = results.get(k);
+            assertEquals(expectedRungs[k], trial.getRungs(), trial.toString());
+            assertEquals(expectedEpochs[k], trial.getEpochs(), trial.toString());
+        }
+    }
+
+    @Test
+    void resultsAreRankedByRungThenScore() {
+        List<TrialResult> results = search(3).run(CONFIGS);
+
+        for (int k = 1; k < results.size(); k++) {
+            TrialResult previous = results.get(k - 1);
+            TrialResult current = results.get(k);
+            assertTrue(previous.getRungs() >= current.getRungs());
+            if (previous.getRungs() == current.getRungs()) {
+                assertTrue(Double.compare(previous.getScore(), current.getScore()) <= 0,
+                        previous + " / " + current);
+            }
+        }
+
+        // 학습률이 거의 0 인 후보는 10 에폭 동안 손실이 줄지 않으므로 첫 단계에서 탈락
+        TrialResult frozen = results.stream()
+                .filter(trial -> trial.getConfig().getLearningRate() == 1e-6)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1, frozen.getRungs());
+        assertTrue(results.get(0).getScore() < frozen.getScore());
+    }
+
+    @Test
+    void rankingDoesNotDependOnThreadCount() {
+        List<TrialResult> serial = search(1).run(CONFIGS);
+        List<TrialResult> parallel = search(3).run(CONFIGS);
+
+        for (int k = 0; k < serial.size(); k++) {
+            assertEquals(serial.get(k).getConfig().getSeed(), parallel.get(k).getConfig().getSeed());
+            assertEquals(serial.get(k).getScore(), parallel.get(k).getScore(), 0.0);
+        }
+    }
+
+    private static HyperparameterSearch search(int threads) {
+        return HyperparameterSearch.of(INPUTS, TARGETS)
+                .maxEpochs(90)
+                .successiveHalving(10, 3)
+                .threads(threads);
+    }
+}
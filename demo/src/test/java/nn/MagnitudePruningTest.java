@@ -0,0 +1,80 @@
+package nn;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 가지치기 비율, 미세 조정 중 마스크 유지, CSR 변환 결과 확인
+ */
+class MagnitudePruningTest {
+
+    private static final int SAMPLES = 32;
+
+    private final double[][] inputs = new double[SAMPLES][8];
+    private final double[][] targets = new double[SAMPLES][2];
+
+    MagnitudePruningTest() {
+        Random random = new Random(13);
+        for (int n = 0; n < SAMPLES; n++) {
+            for (int i = 0; i < inputs[n].length; i++) {
+                inputs[n][i] = random.nextDouble();
+            }
+            targets[n][inputs[n][0] > inputs[n][1] ? 0 : 1] = 1.0;
+        }
+    }
+
+    @Test
+    void oneShotPruningRemovesSmallestWeights() {
+        NeuralNetwork nn = network();
+        DenseLayer layer = nn.getLayers().get(0);
+        double[] before = layer.weightArray().clone();
+
+        MagnitudePruning.prune(nn, 0.8);
+
+        double[] after = layer.weightArray();
+        assertEquals(Math.round(0.8 * before.length) / (double) before.length, layer.sparsity(), 1e-12);
+        double largestPruned = 0.0;
+        double smallestKept = Double.MAX_VALUE;
+        for (int k = 0; k < before.length; k++) {
+            if (after[k] == 0.0) {
+                largestPruned = Math.max(largestPruned, Math.abs(before[k]));
+            } else {
+                assertEquals(before[k], after[k], 0.0);
+                smallestKept = Math.min(smallestKept, Math.abs(before[k]));
+            }
+        }
+        assertTrue(largestPruned <= smallestKept);
+    }
+
+    @Test
+    void iterativePruningKeepsSparsityThroughFineTuning() {
+        NeuralNetwork nn = network();
+
+        MagnitudePruning.pruneIteratively(nn, inputs, targets, 0.75, 3, 5, 8);
+
+        SparseNeuralNetwork sparse = nn.toSparse();
+        List<DenseLayer> layers = nn.getLayers();
+        for (int k = 0; k < layers.size(); k++) {
+            DenseLayer layer = layers.get(k);
+            assertTrue(layer.sparsity() >= 0.75 - 1e-12, "layer=" + k + ", sparsity=" + layer.sparsity());
+            int weights = layer.getInputSize() * layer.getOutputSize();
+            assertEquals(Math.round((1.0 - layer.sparsity()) * weights), sparse.getLayers().get(k).getNonZeros());
+        }
+        for (double[] x : inputs) {
+            assertArrayEquals(nn.predict(x), sparse.predict(x), 1e-12);
+        }
+    }
+
+    private static NeuralNetwork network() {
+        NeuralNetwork nn = new NeuralNetwork(new MeanSquaredError());
+        nn.addLayer(new DenseLayer(8, 16, new SigmoidActivation(), 0.3, 0.9, 1L));
+        nn.addLayer(new DenseLayer(16, 2, new SigmoidActivation(), 0.3, 0.9, 2L));
+        return nn;
+    }
+}
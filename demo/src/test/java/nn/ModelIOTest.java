@@ -0,0 +1,146 @@
+package nn;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * 저장/불러오기 왕복 확인
+ * 모든 Optimizer 구현체에 대해, 불러온 뒤 이어서 학습한 결과가 저장하지 않고 계속 학습한 결과와 비트 단위로 같아야 함
+ */
+class ModelIOTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void sgdRoundTrip() throws Exception {
+        assertRoundTrip(SgdOptimizer::new);
+    }
+
+    @Test
+    void momentumRoundTrip() throws Exception {
+        assertRoundTrip(() -> new MomentumOptimizer(0.9));
+    }
+
+    @Test
+    void nesterovRoundTrip() throws Exception {
+        assertRoundTrip(() -> new MomentumOptimizer(0.8, true));
+    }
+
+    @Test
+    void rmsPropRoundTrip() throws Exception {
+        assertRoundTrip(() -> new RmsPropOptimizer(0.95, 1e-7));
+    }
+
+    @Test
+    void adamRoundTrip() throws Exception {
+        assertRoundTrip(() -> new AdamOptimizer(0.85, 0.99, 1e-6));
+    }
+
+    @Test
+    void unknownOptimizerIsRejectedBeforeWriting() {
+        NeuralNetwork nn = network(() -> new MomentumOptimizer(0.9) {
+        });
+        Path path = dir.resolve("custom.nn");
+
+        assertThrows(IllegalArgumentException.class, () -> ModelIO.save(nn, path));
+        assertFalse(Files.exists(path));
+    }
+
+    @Test
+    void writableMappingRejectsAdam() throws Exception {
+        Path path = dir.resolve("adam.nn");
+        ModelIO.save(network(AdamOptimizer::new), path);
+
+        assertThrows(IllegalArgumentException.class, () -> OffHeapNeuralNetwork.map(path, false));
+        try (OffHeapNeuralNetwork readOnly = OffHeapNeuralNetwork.map(path, true)) {
+            assertEquals(2, readOnly.getLayers().size());
+        }
+    }
+
+    @Test
+    void dataArraysStartOn64ByteBoundaries() throws Exception {
+        Path path = dir.resolve("aligned.nn");
+        ModelIO.save(network(AdamOptimizer::new), path);
+
+        try (FileChannel channel = FileChannel.open(path)) {
+            for (ModelIO.LayerInfo info : ModelIO.readLayout(channel).layers) {
+                assertTrue(info.weightOffset % 64 == 0);
+                assertTrue(info.biasOffset % 64 == 0);
+                for (int slot = 0; slot < info.optimizer.stateSlots(); slot++) {
+                    assertTrue(info.stateWOffset(slot) % 64 == 0);
+                    assertTrue(info.stateBOffset(slot) % 64 == 0);
+                }
+            }
+        }
+    }
+
+    private void assertRoundTrip(Supplier<Optimizer> optimizer) throws Exception {
+        double[][] inputs = new double[40][3];
+        double[][] targets = new double[40][2];
+        Random random = new Random(7);
+        for (int n = 0; n < inputs.length; n++) {
+            for (int i = 0; i < 3; i++) {
+                inputs[n][i] = random.nextDouble();
+            }
+            targets[n][0] = inputs[n][0] > inputs[n][1] ? 1.0 : 0.0;
+            targets[n][1] = inputs[n][2];
+        }
+
+        NeuralNetwork original = network(optimizer);
+        original.train(inputs, targets, 20);
+
+        Path path = dir.resolve("model.nn");
+        ModelIO.save(original, path);
+        NeuralNetwork loaded = ModelIO.load(path);
+
+        List<DenseLayer> expectedLayers = original.getLayers();
+        List<DenseLayer> actualLayers = loaded.getLayers();
+        for (int k = 0; k < expectedLayers.size(); k++) {
+            assertEquals(describe(expectedLayers.get(k).getOptimizer()), describe(actualLayers.get(k).getOptimizer()));
+        }
+
+        original.train(inputs, targets, 20);
+        loaded.train(inputs, targets, 20);
+        for (double[] input : inputs) {
+            assertArrayEquals(original.predict(input), loaded.predict(input), 0.0);
+        }
+    }
+
+    private static NeuralNetwork network(Supplier<Optimizer> optimizer) {
+        NeuralNetwork nn = new NeuralNetwork(new MeanSquaredError());
+        nn.addLayer(new DenseLayer(3, 6, new SigmoidActivation(), 0.05, optimizer.get(), 1L));
+        nn.addLayer(new DenseLayer(6, 2, new SigmoidActivation(), 0.05, optimizer.get(), 2L));
+        return nn;
+    }
+
+    // 옵티마이저 종류와 하이퍼파라미터 비교용 문자열
+    private static String describe(Optimizer optimizer) {
+        if (optimizer instanceof MomentumOptimizer) {
+            MomentumOptimizer m = (MomentumOptimizer) optimizer;
+            return "momentum " + m.getMomentum() + " " + m.isNesterov();
+        }
+        if (optimizer instanceof RmsPropOptimizer) {
+            RmsPropOptimizer r = (RmsPropOptimizer) optimizer;
+            return "rmsprop " + r.getDecay() + " " + r.getEpsilon();
+        }
+        if (optimizer instanceof AdamOptimizer) {
+            AdamOptimizer a = (AdamOptimizer) optimizer;
+            return "adam " + a.getBeta1() + " " + a.getBeta2() + " " + a.getEpsilon();
+        }
+        return optimizer.getClass().getSimpleName();
+    }
+}
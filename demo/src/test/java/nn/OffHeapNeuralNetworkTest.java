@@ -0,0 +1,61 @@
+package nn;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 추론 중인 스레드가 있어도 close() 가 해제된 메모리를 읽게 두지 않는지 확인
+ */
+class OffHeapNeuralNetworkTest {
+
+    @Test
+    void closeWaitsForConcurrentPredict() throws Exception {
+        NeuralNetwork nn = new NeuralNetwork(new MeanSquaredError());
+        nn.addLayer(new DenseLayer(256, 256, new SigmoidActivation(), 0.1, 0.0, 1L));
+        nn.addLayer(new DenseLayer(256, 4, new SigmoidActivation(), 0.1, 0.0, 2L));
+        double[] x = new double[256];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = i / 256.0;
+        }
+        double[] expected = nn.predict(x);
+
+        OffHeapNeuralNetwork offHeap = nn.toOffHeap();
+        int threads = 4;
+        CountDownLatch started = new CountDownLatch(threads);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(pool.submit(() -> {
+                int calls = 0;
+                started.countDown();
+                try {
+                    while (true) {
+                        assertArrayEquals(expected, offHeap.predict(x), 1e-12);
+                        calls++;
+                    }
+                } catch (IllegalStateException closed) {
+                    return calls;
+                }
+            }));
+        }
+        started.await();
+        offHeap.close();
+
+        for (Future<Integer> result : results) {
+            assertTrue(result.get(10, TimeUnit.SECONDS) >= 0);
+        }
+        pool.shutdown();
+        assertThrows(IllegalStateException.class, () -> offHeap.predict(x));
+    }
+}
@@ -0,0 +1,64 @@
+package nn;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 크기 제한과 학습 후 자동 무효화 확인
+ */
+class PredictionCacheTest {
+
+    @Test
+    void sizeNeverExceedsMaxEntries() {
+        NeuralNetwork nn = network();
+        for (int maxEntries : new int[] {1, 3, 16, 17, 50}) {
+            PredictionCache cache = new PredictionCache(nn, maxEntries);
+            for (int n = 0; n < 200; n++) {
+                cache.predict(new double[] {n, -n});
+                assertTrue(cache.size() <= maxEntries, "maxEntries=" + maxEntries + ", size=" + cache.size());
+            }
+        }
+    }
+
+    @Test
+    void repeatedInputHits() {
+        PredictionCache cache = new PredictionCache(network(), 8);
+        double[] x = {0.3, 0.7};
+
+        double[] first = cache.predict(x);
+        double[] second = cache.predict(x);
+
+        assertArrayEquals(first, second, 0.0);
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    void trainingInvalidatesCachedOutput() {
+        NeuralNetwork nn = network();
+        PredictionCache cache = new PredictionCache(nn, 8);
+        double[] x = {0.3, 0.7};
+        double[] before = cache.predict(x);
+
+        nn.train(new double[][] {x}, new double[][] {{1.0}}, 1);
+        double[] after = cache.predict(x);
+
+        assertEquals(0, cache.hits());
+        assertEquals(2, cache.misses());
+        assertArrayEquals(nn.predict(x), after, 0.0);
+        assertFalse(Arrays.equals(before, after));
+    }
+
+    private static NeuralNetwork network() {
+        NeuralNetwork nn = new NeuralNetwork(new MeanSquaredError());
+        nn.addLayer(new DenseLayer(2, 4, new SigmoidActivation(), 0.5, 0.0, 1L));
+        nn.addLayer(new DenseLayer(4, 1, new SigmoidActivation(), 0.5, 0.0, 2L));
+        return nn;
+    }
+}
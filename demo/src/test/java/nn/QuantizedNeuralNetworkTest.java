@@ -0,0 +1,63 @@
+package nn;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * int8 양자화 모델 확인
+ */
+class QuantizedNeuralNetworkTest {
+
+    private static final int SAMPLES = 64;
+
+    private final double[][] inputs = new double[SAMPLES][4];
+    private final double[][] targets = new double[SAMPLES][2];
+
+    QuantizedNeuralNetworkTest() {
+        Random random = new Random(9);
+        for (int n = 0; n < SAMPLES; n++) {
+            for (int i = 0; i < 4; i++) {
+                inputs[n][i] = random.nextDouble() * 2.0 - 1.0;
+            }
+            int label = inputs[n][0] + inputs[n][1] > 0.0 ? 1 : 0;
+            targets[n][label] = 1.0;
+        }
+    }
+
+    @Test
+    void reportStaysWithinInt8ErrorBound() {
+        NeuralNetwork nn = trained();
+        QuantizedNeuralNetwork quantized = nn.quantize(inputs);
+
+        QuantizationReport report = QuantizedNeuralNetwork.compare(nn, quantized, inputs, targets);
+
+        // 시그모이드 출력 기준 절대 오차, 분류 일치율, 손실 증가
+        assertTrue(report.getMaxAbsError() < 0.02, report.toString());
+        assertTrue(report.getMeanAbsError() < 0.005, report.toString());
+        assertTrue(report.getAgreement() >= 0.95, report.toString());
+        assertEquals(report.getReferenceLoss(), report.getQuantizedLoss(), 0.01);
+        assertTrue(report.getQuantizedBytes() < report.getReferenceBytes());
+    }
+
+    @Test
+    void wrongScratchLengthIsRejected() {
+        QuantizedDenseLayer layer = trained().quantize(inputs).getLayers().get(0);
+        double[] out = new double[layer.getOutputSize()];
+
+        assertThrows(IllegalArgumentException.class, () -> layer.infer(inputs[0], new byte[3], out));
+        assertThrows(IllegalArgumentException.class, () -> layer.infer(inputs[0], new byte[5], out));
+    }
+
+    private NeuralNetwork trained() {
+        NeuralNetwork nn = new NeuralNetwork(new MeanSquaredError());
+        nn.addLayer(new DenseLayer(4, 8, new SigmoidActivation(), 0.5, 0.9, 1L));
+        nn.addLayer(new DenseLayer(8, 2, new SigmoidActivation(), 0.5, 0.9, 2L));
+        nn.train(inputs, targets, 200);
+        return nn;
+    }
+}
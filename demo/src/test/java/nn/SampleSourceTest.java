@@ -0,0 +1,57 @@
+package nn;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * CSV 를 바이너리 데이터셋으로 변환해 다시 읽으면 같은 샘플이 같은 순서로 나와야 함
+ */
+class SampleSourceTest {
+
+    private static final double[][] INPUTS = {{0.0, 1.5}, {-2.25, 3.0}, {1e-3, 7.0}};
+    private static final double[][] TARGETS = {{1.0}, {0.0}, {0.5}};
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void csvToMappedRoundTrip() throws Exception {
+        Path csv = dir.resolve("samples.csv");
+        Files.write(csv, List.of("x1,x2,y", "0.0,1.5,1.0", "-2.25,3.0,0.0", "", "0.001,7.0,0.5"),
+                StandardCharsets.UTF_8);
+        Path binary = dir.resolve("samples.bin");
+
+        try (CsvSampleSource source = new CsvSampleSource(csv, 2, 1, true)) {
+            assertEquals(INPUTS.length, MappedSampleSource.write(source, binary));
+        }
+
+        try (MappedSampleSource mapped = new MappedSampleSource(binary)) {
+            assertEquals(INPUTS.length, mapped.size());
+            assertEquals(2, mapped.inputSize());
+            assertEquals(1, mapped.targetSize());
+
+            // 두 에폭 모두 같은 샘플
+            for (int epoch = 0; epoch < 2; epoch++) {
+                mapped.reset();
+                double[] x = new double[2];
+                double[] t = new double[1];
+                for (int n = 0; n < INPUTS.length; n++) {
+                    assertTrue(mapped.next(x, t));
+                    assertArrayEquals(INPUTS[n], x, 0.0);
+                    assertArrayEquals(TARGETS[n], t, 0.0);
+                }
+                assertFalse(mapped.next(x, t));
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package nn;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 소프트맥스는 출력층에만 허용되고, 모든 변환 경로가 배열 단위 메서드만 사용하는지 확인
+ */
+class SoftmaxActivationTest {
+
+    private static final double[][] INPUTS = {
+            {0.5, -1.0, 2.0, 0.1},
+            {-0.3, 0.8, 0.0, 1.5},
+            {1.0, 1.0, -2.0, 0.4},
+    };
+
+    @Test
+    void hiddenSoftmaxIsRejected() {
+        NeuralNetwork nn = new NeuralNetwork(new CrossEntropy());
+        nn.addLayer(new DenseLayer(4, 3, new SoftmaxActivation(), 0.1, 0.0, 1L));
+
+        assertThrows(IllegalStateException.class,
+                () -> nn.addLayer(new DenseLayer(3, 2, new SigmoidActivation(), 0.1, 0.0, 2L)));
+        assertEquals(1, nn.getLayers().size());
+    }
+
+    @Test
+    void scalarCallsAreRejected() {
+        SoftmaxActivation softmax = new SoftmaxActivation();
+
+        assertThrows(IllegalStateException.class, () -> softmax.activate(0.5));
+        assertThrows(IllegalStateException.class, () -> softmax.derivative(0.5));
+    }
+
+    @Test
+    void onlyMatchingLossIsFused() {
+        assertTrue(FusedLoss.fuses(new CrossEntropy(), new SoftmaxActivation()));
+        assertFalse(FusedLoss.fuses(new CrossEntropy(), new SigmoidActivation()));
+        assertFalse(FusedLoss.fuses(new MeanSquaredError(), new SoftmaxActivation()));
+    }
+
+    @Test
+    void convertedNetworksKeepSoftmaxOutput() {
+        NeuralNetwork nn = network();
+        double[][] targets = {{1, 0, 0}, {0, 1, 0}, {0, 0, 1}};
+        nn.train(INPUTS, targets, 20);
+
+        SparseNeuralNetwork sparse = nn.toSparse();
+        try (OffHeapNeuralNetwork offHeap = nn.toOffHeap()) {
+            for (double[] x : INPUTS) {
+                double[] expected = nn.predict(x);
+                assertArrayEquals(expected, sparse.predict(x), 1e-12);
+                assertArrayEquals(expected, offHeap.predict(x), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    void offHeapTrainingMatchesHeapWithFusedOutput() {
+        NeuralNetwork nn = network();
+        double[][] targets = {{1, 0, 0}, {0, 1, 0}, {0, 0, 1}};
+        try (OffHeapNeuralNetwork offHeap = nn.toOffHeap()) {
+            offHeap.train(INPUTS, targets, 20);
+            nn.train(INPUTS, targets, 20);
+            for (double[] x : INPUTS) {
+                assertArrayEquals(nn.predict(x), offHeap.predict(x), 1e-12);
+            }
+        }
+    }
+
+    private static NeuralNetwork network() {
+        NeuralNetwork nn = new NeuralNetwork(new CrossEntropy());
+        nn.addLayer(new DenseLayer(4, 8, new SigmoidActivation(), 0.1, 0.9, 1L));
+        nn.addLayer(new DenseLayer(8, 3, new SoftmaxActivation(), 0.1, 0.9, 2L));
+        return nn;
+    }
+}
@@ -0,0 +1,79 @@
+package nn;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 희소 입력 학습이 같은 데이터를 밀집 입력으로 학습한 결과와 같은지 확인
+ * 건너뛴 열의 모멘텀을 나중에 몰아서 적용하므로 반올림 오차만큼만 다를 수 있음
+ */
+class SparseInputTest {
+
+    private static final int SAMPLES = 24;
+    private static final int INPUT_SIZE = 40;
+    private static final int EPOCHS = 10;
+    private static final double TOLERANCE = 1e-12;
+
+    private final double[][] inputs = new double[SAMPLES][INPUT_SIZE];
+    private final double[][] targets = new double[SAMPLES][2];
+
+    SparseInputTest() {
+        // 샘플마다 0 이 아닌 값 3개 (대부분의 열은 여러 샘플 동안 건너뜀)
+        Random random = new Random(5);
+        for (int n = 0; n < SAMPLES; n++) {
+            for (int k = 0; k < 3; k++) {
+                inputs[n][random.nextInt(INPUT_SIZE)] = random.nextDouble();
+            }
+            targets[n][n % 2] = 1.0;
+        }
+    }
+
+    @Test
+    void sparseSampleTrainingMatchesDense() {
+        SparseVector[] sparse = new SparseVector[SAMPLES];
+        for (int n = 0; n < SAMPLES; n++) {
+            sparse[n] = SparseVector.fromDense(inputs[n]);
+        }
+        NeuralNetwork dense = network();
+        NeuralNetwork sparseTrained = network();
+
+        dense.train(inputs, targets, EPOCHS);
+        sparseTrained.train(sparse, targets, EPOCHS);
+
+        assertSameModel(dense, sparseTrained);
+    }
+
+    @Test
+    void csrBatchTrainingMatchesDense() {
+        NeuralNetwork dense = network();
+        NeuralNetwork sparseTrained = network();
+
+        dense.train(inputs, targets, EPOCHS, 5);
+        sparseTrained.train(CsrMatrix.fromDense(inputs), targets, EPOCHS, 5);
+
+        assertSameModel(dense, sparseTrained);
+    }
+
+    private static NeuralNetwork network() {
+        NeuralNetwork nn = new NeuralNetwork(new MeanSquaredError());
+        nn.addLayer(new DenseLayer(INPUT_SIZE, 8, new SigmoidActivation(), 0.2, 0.9, 1L));
+        nn.addLayer(new DenseLayer(8, 2, new SigmoidActivation(), 0.2, 0.9, 2L));
+        return nn;
+    }
+
+    private void assertSameModel(NeuralNetwork expected, NeuralNetwork actual) {
+        List<DenseLayer> expectedLayers = expected.getLayers();
+        List<DenseLayer> actualLayers = actual.getLayers();
+        for (int k = 0; k < expectedLayers.size(); k++) {
+            assertArrayEquals(expectedLayers.get(k).weightArray(), actualLayers.get(k).weightArray(), TOLERANCE);
+            assertArrayEquals(expectedLayers.get(k).biasArray(), actualLayers.get(k).biasArray(), TOLERANCE);
+        }
+        for (double[] x : inputs) {
+            assertArrayEquals(expected.predict(x), actual.predict(x), TOLERANCE);
+        }
+    }
+}
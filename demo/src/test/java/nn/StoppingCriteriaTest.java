@@ -0,0 +1,53 @@
+package nn;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 종료 조건별로 학습이 제때 멈추고 이유를 올바르게 알려 주는지 확인
+ */
+class StoppingCriteriaTest {
+
+    private static final double[][] INPUTS = {{0, 0}, {0, 1}, {1, 0}, {1, 1}};
+    private static final double[][] TARGETS = {{0}, {1}, {1}, {0}};
+
+    @Test
+    void stopsAtTargetLoss() {
+        NeuralNetwork nn = network(0.5);
+
+        TrainingResult result = nn.train(INPUTS, TARGETS, StoppingCriteria.maxEpochs(100_000).targetLoss(0.05));
+
+        assertEquals(TrainingResult.StopReason.TARGET_LOSS, result.getReason());
+        assertTrue(result.getEpochs() < 100_000);
+        assertTrue(result.getFinalLoss() <= 0.05);
+    }
+
+    @Test
+    void stopsWhenValidationPlateaus() {
+        // 학습률이 0 이면 검증 손실이 전혀 줄지 않으므로 첫 에폭 뒤 patience 에폭 만에 멈춤
+        NeuralNetwork nn = network(0.0);
+
+        TrainingResult result = nn.train(INPUTS, TARGETS,
+                StoppingCriteria.maxEpochs(1000).validation(INPUTS, TARGETS, 3, 1e-9));
+
+        assertEquals(TrainingResult.StopReason.PLATEAU, result.getReason());
+        assertEquals(4, result.getEpochs());
+    }
+
+    @Test
+    void runsToMaxEpochsWithoutOtherCriteria() {
+        TrainingResult result = network(0.5).train(INPUTS, TARGETS, StoppingCriteria.maxEpochs(25));
+
+        assertEquals(TrainingResult.StopReason.MAX_EPOCHS, result.getReason());
+        assertEquals(25, result.getEpochs());
+    }
+
+    private static NeuralNetwork network(double learningRate) {
+        NeuralNetwork nn = new NeuralNetwork(new MeanSquaredError());
+        nn.addLayer(new DenseLayer(2, 4, new SigmoidActivation(), learningRate, 0.9, 1L));
+        nn.addLayer(new DenseLayer(4, 1, new SigmoidActivation(), learningRate, 0.9, 2L));
+        return nn;
+    }
+}
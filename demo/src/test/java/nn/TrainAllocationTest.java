@@ -0,0 +1,75 @@
+package nn;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 정상 상태 학습 스텝의 힙 할당 측정
+ * 워밍업으로 작업 버퍼와 JIT 컴파일을 끝낸 뒤 현재 스레드가 할당한 바이트 수를 비교
+ */
+class TrainAllocationTest {
+
+    private static final double[][] INPUTS = {{0, 0}, {0, 1}, {1, 0}, {1, 1}};
+    private static final double[][] TARGETS = {{0}, {1}, {1}, {0}};
+
+    private com.sun.management.ThreadMXBean threads;
+    private NeuralNetwork nn;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        nn = new NeuralNetwork(new MeanSquaredError());
+        nn.addLayer(new DenseLayer(2, 8, new SigmoidActivation(), 0.5, 0.9, 1L));
+        nn.addLayer(new DenseLayer(8, 1, new SigmoidActivation(), 0.5, 0.9, 2L));
+    }
+
+    @Test
+    void trainingEpochAllocatesNothing() {
+        for (int i = 0; i < 20_000; i++) {
+            epoch();
+        }
+
+        long before = allocatedBytes();
+        epoch();
+        long after = allocatedBytes();
+
+        assertEquals(0L, after - before, "학습 에폭에서 힙 할당이 발생했습니다.");
+    }
+
+    @Test
+    void extraEpochsInTrainAllocateNothing() {
+        for (int i = 0; i < 200; i++) {
+            nn.train(INPUTS, TARGETS, 100);
+        }
+
+        // 호출마다 생기는 종료 조건/결과 객체는 같으므로 에폭 수가 달라도 할당량이 같아야 함
+        long start = allocatedBytes();
+        nn.train(INPUTS, TARGETS, 1);
+        long oneEpoch = allocatedBytes() - start;
+
+        start = allocatedBytes();
+        nn.train(INPUTS, TARGETS, 1_000);
+        long manyEpochs = allocatedBytes() - start;
+
+        assertEquals(oneEpoch, manyEpochs, "에폭마다 힙 할당이 발생했습니다.");
+    }
+
+    private void epoch() {
+        for (int n = 0; n < INPUTS.length; n++) {
+            nn.trainSample(INPUTS[n], TARGETS[n]);
+        }
+    }
+
+    private long allocatedBytes() {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
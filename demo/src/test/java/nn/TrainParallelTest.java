@@ -0,0 +1,71 @@
+package nn;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 병렬 학습 재현성 확인
+ * 같은 시드와 스레드 수면 가중치가 비트 단위로 같고, 스레드 1개면 직렬 미니배치 학습과 같아야 함
+ */
+class TrainParallelTest {
+
+    private static final int SAMPLES = 96;
+    private static final int BATCH_SIZE = 16;
+    private static final int EPOCHS = 5;
+
+    private final double[][] inputs = new double[SAMPLES][6];
+    private final double[][] targets = new double[SAMPLES][2];
+
+    TrainParallelTest() {
+        Random random = new Random(11);
+        for (int n = 0; n < SAMPLES; n++) {
+            for (int i = 0; i < inputs[n].length; i++) {
+                inputs[n][i] = random.nextDouble();
+            }
+            targets[n][0] = inputs[n][0] + inputs[n][1] > 1.0 ? 1.0 : 0.0;
+            targets[n][1] = inputs[n][2];
+        }
+    }
+
+    @Test
+    void sameSeedAndThreadsGiveSameWeights() {
+        NeuralNetwork first = network();
+        NeuralNetwork second = network();
+
+        first.trainParallel(inputs, targets, EPOCHS, BATCH_SIZE, 3);
+        second.trainParallel(inputs, targets, EPOCHS, BATCH_SIZE, 3);
+
+        assertSameWeights(first, second);
+    }
+
+    @Test
+    void singleThreadMatchesSerialTraining() {
+        NeuralNetwork parallel = network();
+        NeuralNetwork serial = network();
+
+        parallel.trainParallel(inputs, targets, EPOCHS, BATCH_SIZE, 1);
+        serial.train(inputs, targets, EPOCHS, BATCH_SIZE);
+
+        assertSameWeights(serial, parallel);
+    }
+
+    private static NeuralNetwork network() {
+        NeuralNetwork nn = new NeuralNetwork(new MeanSquaredError());
+        nn.addLayer(new DenseLayer(6, 8, new SigmoidActivation(), 0.3, 0.9, 1L));
+        nn.addLayer(new DenseLayer(8, 2, new SigmoidActivation(), 0.3, 0.9, 2L));
+        return nn;
+    }
+
+    private static void assertSameWeights(NeuralNetwork expected, NeuralNetwork actual) {
+        List<DenseLayer> expectedLayers = expected.getLayers();
+        List<DenseLayer> actualLayers = actual.getLayers();
+        for (int k = 0; k < expectedLayers.size(); k++) {
+            assertArrayEquals(expectedLayers.get(k).weightArray(), actualLayers.get(k).weightArray(), 0.0);
+            assertArrayEquals(expectedLayers.get(k).biasArray(), actualLayers.get(k).biasArray(), 0.0);
+        }
+    }
+}